@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * A snapshot of prices and sizes written as packed arrays compared with writing them one element at a time in a
+ * sequence.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArrayBenchmark {
+    static final int LEVELS = 64;
+
+    @Param({"BINARY", "BINARY_FIXED", "TEXT"})
+    String wireType;
+
+    final Bytes arrayBytes = nativeBytes();
+    final Bytes sequenceBytes = nativeBytes();
+    final double[] prices = new double[LEVELS];
+    final int[] sizes = new int[LEVELS];
+    final double[] prices2 = new double[LEVELS];
+    final int[] sizes2 = new int[LEVELS];
+    Wire arrayWire, sequenceWire;
+    long arrayLength, sequenceLength;
+
+    @Setup
+    public void setup() {
+        arrayWire = WireBenchmark.createWire(wireType, arrayBytes);
+        sequenceWire = WireBenchmark.createWire(wireType, sequenceBytes);
+        for (int i = 0; i < LEVELS; i++) {
+            prices[i] = 100 + i * 0.25;
+            sizes[i] = 100_000 + i * 100;
+        }
+        arrayLength = writeArrays();
+        sequenceLength = writeSequences();
+        System.out.println("\n" + wireType + " array length " + arrayLength + ", sequence length " + sequenceLength);
+    }
+
+    @Benchmark
+    public long writeArrays() {
+        arrayWire.clear();
+        arrayWire.write(() -> "prices").array(prices, 0, LEVELS);
+        arrayWire.write(() -> "sizes").array(sizes, 0, LEVELS);
+        return arrayBytes.position();
+    }
+
+    @Benchmark
+    public long writeSequences() {
+        sequenceWire.clear();
+        sequenceWire.write(() -> "prices").sequence(v -> {
+            for (double price : prices)
+                v.float64(price);
+        });
+        sequenceWire.write(() -> "sizes").sequence(v -> {
+            for (int size : sizes)
+                v.int32(size);
+        });
+        return sequenceBytes.position();
+    }
+
+    @Benchmark
+    public int readArrays() {
+        arrayBytes.position(0);
+        arrayBytes.limit(arrayLength);
+        return arrayWire.read(() -> "prices").array(prices2) + arrayWire.read(() -> "sizes").array(sizes2);
+    }
+
+    @Benchmark
+    public int readSequences() {
+        sequenceBytes.position(0);
+        sequenceBytes.limit(sequenceLength);
+        int[] count = {0, 0};
+        sequenceWire.read(() -> "prices").sequence(v -> {
+            while (v.hasNextSequenceItem())
+                v.float64(d -> prices2[count[0]++] = d);
+        });
+        sequenceWire.read(() -> "sizes").sequence(v -> {
+            while (v.hasNextSequenceItem())
+                v.int32(i -> sizes2[count[1]++] = i);
+        });
+        return count[0] + count[1];
+    }
+}
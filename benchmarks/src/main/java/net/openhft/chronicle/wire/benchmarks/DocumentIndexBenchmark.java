@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.DocumentIndex;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.Wires;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finds the position of a random document out of 1M, with a DocumentIndex of every 64th or by walking the headers
+ * from the start.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DocumentIndexBenchmark {
+    static final int COUNT = 1_000_000;
+
+    final NativeBytesStore documents = NativeBytesStore.nativeStoreWithFixedCapacity(COUNT * 32L);
+    final NativeBytesStore indexStore = NativeBytesStore.nativeStoreWithFixedCapacity(DocumentIndex.sizeInBytes(COUNT / 64 + 1));
+    final DocumentIndex index = new DocumentIndex();
+    long seed = 1;
+
+    @Setup
+    public void setup() {
+        Wire wire = new BinaryWire(documents.bytes());
+        for (int i = 0; i < COUNT; i++) {
+            long n = i;
+            wire.writeDocument(false, w -> w.write(() -> "n").int64(n));
+        }
+        DocumentIndex.write(indexStore.bytes(), 64, COUNT / 64 + 1);
+        index.bytesStore(indexStore, 0, DocumentIndex.peakLength(indexStore, 0));
+        index.update(documents, documents.capacity());
+    }
+
+    @TearDown
+    public void tearDown() {
+        documents.close();
+        indexStore.close();
+    }
+
+    long nextDocument() {
+        seed = seed * 6364136223846793005L + 1442695040888963407L;
+        return (seed >>> 33) % COUNT;
+    }
+
+    @Benchmark
+    public long indexed() {
+        return index.positionOf(documents, nextDocument());
+    }
+
+    @Benchmark
+    public long walk() {
+        long position = 0;
+        for (long n = nextDocument(); n > 0; n--)
+            position += 4 + Wires.lengthOf(documents.readVolatileInt(position));
+        return position;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Writing and reading the same message with the hand written Data, with no methods so WireMarshaller does it, and
+ * with java.lang.reflect.Field get and set.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GeneratedMarshallerBenchmark {
+    @Param({"BINARY", "TEXT"})
+    WireType wireType;
+
+    final Bytes bytes = nativeBytes();
+    final Data handWritten = new Data();
+    final GeneratedData generated = new GeneratedData();
+    final ReflectiveData reflective = new ReflectiveData();
+    Wire wire;
+
+    @Setup
+    public void setup() {
+        wire = wireType.apply(bytes);
+        handWritten.text.append("Hello World");
+        handWritten.l = 123456789L;
+        handWritten.d = 1.5;
+        generated.text.append("Hello World");
+        generated.l = 123456789L;
+        generated.d = 1.5;
+        reflective.text.append("Hello World");
+        reflective.l = 123456789L;
+        reflective.d = 1.5;
+    }
+
+    @Benchmark
+    public Marshallable handWritten() {
+        handWritten.i++;
+        return writeAndRead(handWritten);
+    }
+
+    @Benchmark
+    public Marshallable generated() {
+        generated.i++;
+        return writeAndRead(generated);
+    }
+
+    @Benchmark
+    public Marshallable reflective() {
+        reflective.i++;
+        return writeAndRead(reflective);
+    }
+
+    private Marshallable writeAndRead(Marshallable m) {
+        bytes.clear();
+        wire.write(() -> "data").marshallable(m);
+        wire.flip();
+        wire.read(() -> "data").marshallable(m);
+        return m;
+    }
+
+    static class GeneratedData implements Marshallable {
+        final StringBuilder text = new StringBuilder();
+        boolean b;
+        short s;
+        double d;
+        long l;
+        int i;
+    }
+
+    static class ReflectiveData implements Marshallable {
+        static final Field[] FIELDS;
+        static final WireKey[] KEYS;
+
+        static {
+            List<Field> fields = new ArrayList<>();
+            for (Field field : ReflectiveData.class.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()))
+                    continue;
+                field.setAccessible(true);
+                fields.add(field);
+            }
+            FIELDS = fields.toArray(new Field[fields.size()]);
+            KEYS = new WireKey[FIELDS.length];
+            for (int j = 0; j < FIELDS.length; j++) {
+                String name = FIELDS[j].getName();
+                KEYS[j] = () -> name;
+            }
+        }
+
+        final StringBuilder text = new StringBuilder();
+        boolean b;
+        short s;
+        double d;
+        long l;
+        int i;
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            try {
+                for (int j = 0; j < FIELDS.length; j++) {
+                    Field field = FIELDS[j];
+                    ValueOut out = wire.write(KEYS[j]);
+                    Class<?> type = field.getType();
+                    if (type == boolean.class)
+                        out.bool(field.getBoolean(this));
+                    else if (type == short.class)
+                        out.int16(field.getShort(this));
+                    else if (type == int.class)
+                        out.int32(field.getInt(this));
+                    else if (type == long.class)
+                        out.int64(field.getLong(this));
+                    else if (type == double.class)
+                        out.float64(field.getDouble(this));
+                    else
+                        out.object(field.get(this));
+                }
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            try {
+                for (int j = 0; j < FIELDS.length; j++) {
+                    Field field = FIELDS[j];
+                    ValueIn in = wire.read(KEYS[j]);
+                    Class<?> type = field.getType();
+                    if (type == boolean.class)
+                        field.setBoolean(this, in.bool());
+                    else if (type == short.class)
+                        field.setShort(this, in.int16());
+                    else if (type == int.class)
+                        field.setInt(this, in.int32());
+                    else if (type == long.class)
+                        field.setLong(this, in.int64());
+                    else if (type == double.class)
+                        field.setDouble(this, in.float64());
+                    else if (type == StringBuilder.class)
+                        in.textTo((StringBuilder) field.get(this));
+                    else
+                        field.set(this, in.object(field.get(this), (Class) type));
+                }
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.NativeBytes;
+import net.openhft.chronicle.core.values.LongArrayValues;
+import net.openhft.chronicle.wire.BinaryLongArrayReference;
+import net.openhft.chronicle.wire.BinaryWire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Four threads each count into their own value of a shared BinaryLongArrayReference, with the values dense or padded
+ * to a cache line each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(LongArrayBenchmark.THREADS)
+public class LongArrayBenchmark {
+    static final int THREADS = 4;
+    static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    @Param({"false", "true"})
+    boolean padded;
+
+    final Bytes bytes = NativeBytes.nativeBytes();
+    BinaryLongArrayReference counters;
+
+    @Setup
+    public void setup() {
+        BinaryWire wire = new BinaryWire(bytes);
+        wire.write(() -> "counters").int64array(THREADS, padded);
+        wire.flip();
+        LongArrayValues[] values = {null};
+        wire.read(() -> "counters").int64array(null, v -> values[0] = v);
+        counters = (BinaryLongArrayReference) values[0];
+    }
+
+    @State(Scope.Thread)
+    public static class Index {
+        final int index = NEXT_INDEX.getAndIncrement() % THREADS;
+    }
+
+    @Benchmark
+    public long add(Index index) {
+        return counters.addValueAt(index.index, 1);
+    }
+
+    @Benchmark
+    public long setOrdered(Index index) {
+        long value = counters.getValueAt(index.index) + 1;
+        counters.setOrderedValueAt(index.index, value);
+        return value;
+    }
+
+    @Benchmark
+    public long sum() {
+        return counters.sum();
+    }
+}
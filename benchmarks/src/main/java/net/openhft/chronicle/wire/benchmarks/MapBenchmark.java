@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * A snapshot of a map of String to Long, written and read back into the same map. TEXT writes a !!seqmap, BINARY a
+ * sequence of the entry count then each key and value. The size of the map on the wire is printed in the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MapBenchmark {
+    @Param({"BINARY", "BINARY_FIXED", "TEXT"})
+    String wireType;
+
+    @Param({"16", "256"})
+    int entries;
+
+    final Bytes bytes = nativeBytes();
+    final Map<String, Long> map = new HashMap<>();
+    final Map<String, Long> using = new HashMap<>();
+    Wire wire;
+    long length;
+
+    @Setup
+    public void setup() {
+        wire = WireBenchmark.createWire(wireType, bytes);
+        for (int i = 0; i < entries; i++)
+            map.put("key-" + i, i * 1000003L);
+        write();
+        length = bytes.position();
+        System.out.println("\n" + wireType + " " + entries + " entries, map length " + length + " bytes");
+    }
+
+    @Benchmark
+    public long write() {
+        wire.clear();
+        wire.write(() -> "map").map(map);
+        return bytes.position();
+    }
+
+    @Benchmark
+    public Map<String, Long> read() {
+        bytes.position(0);
+        bytes.limit(length);
+        return wire.read(() -> "map").map(String.class, Long.class, using);
+    }
+}
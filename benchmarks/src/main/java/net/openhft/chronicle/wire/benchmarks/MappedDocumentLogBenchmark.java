@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.wire.MappedDocumentLog;
+import net.openhft.chronicle.wire.WireIn;
+import net.openhft.chronicle.wire.WireOut;
+import net.openhft.chronicle.wire.WireType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Appends a small BinaryWire document to a MappedDocumentLog, and tails it, starting a new log each iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MappedDocumentLogBenchmark {
+    final File dir = new File(System.getProperty("java.io.tmpdir"), "wlog-bench-" + System.nanoTime());
+    MappedDocumentLog log;
+    MappedDocumentLog.Tailer tailer;
+    long n;
+    long sum;
+    final Consumer<WireOut> writer = w -> w.write(() -> "n").int64(n).write(() -> "price").float64(1.25);
+    final Consumer<WireIn> reader = w -> sum += w.read(() -> "n").int64();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        log = new MappedDocumentLog(dir, WireType.BINARY, 64 << 20, 1024);
+        tailer = log.createTailer();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        tailer.close();
+        log.close();
+        File[] files = dir.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public void write() {
+        n++;
+        log.writeDocument(false, writer);
+    }
+
+    @Benchmark
+    public boolean writeAndRead() {
+        n++;
+        log.writeDocument(false, writer);
+        return tailer.readDocument(null, reader);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.MarshallableBytesMarshaller;
+import net.openhft.chronicle.wire.WireType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * MarshallableBytesMarshaller creating a wire per message (apply) vs rebinding the wire held per thread (acquireWire).
+ * Run with -prof gc to see the allocation per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MarshallerBenchmark {
+    @Param({"TEXT", "BINARY", "RAW"})
+    WireType wireType;
+
+    final Bytes bytes = nativeBytes();
+    final Data a = new Data();
+    final Data b = new Data();
+    MarshallableBytesMarshaller<Data> perMessage;
+    MarshallableBytesMarshaller<Data> perThread;
+
+    @Setup
+    public void setup() {
+        perMessage = MarshallableBytesMarshaller.of(wireType::apply, Data::new);
+        perThread = MarshallableBytesMarshaller.of(wireType, Data::new);
+        a.text.append("Hello World");
+        a.l = 123456789L;
+    }
+
+    @Benchmark
+    public Data newWirePerMessage() {
+        return writeAndRead(perMessage);
+    }
+
+    @Benchmark
+    public Data wirePerThread() {
+        return writeAndRead(perThread);
+    }
+
+    private Data writeAndRead(MarshallableBytesMarshaller<Data> marshaller) {
+        bytes.clear();
+        a.i++;
+        marshaller.write(bytes, a);
+        bytes.flip();
+        return marshaller.read(bytes, b);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireOut;
+import net.openhft.chronicle.wire.Wires;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes BATCH small documents per thread per iteration to one shared buffer, claiming each header with
+ * Wires.writeDataConcurrently, compared with a single writer using Wires.writeData. Run with -t to change the number
+ * of writers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, batchSize = MultiWriterBenchmark.BATCH)
+@Measurement(iterations = 5, batchSize = MultiWriterBenchmark.BATCH)
+@Fork(2)
+public class MultiWriterBenchmark {
+    static final int BATCH = 1_000_000;
+    static final int MAX_THREADS = 8;
+    // 4 byte header and a 17 byte document, rounded up.
+    static final long DOCUMENT_SIZE = 24;
+
+    final NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(MAX_THREADS * BATCH * DOCUMENT_SIZE);
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        store.zeroOut(0, store.capacity());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        Wire wire;
+        long n;
+        final Consumer<WireOut> writer = w -> w.write(() -> "n").int64(n);
+
+        @Setup(Level.Iteration)
+        public void setup(MultiWriterBenchmark benchmark) {
+            wire = new BinaryWire(benchmark.store.bytes());
+        }
+    }
+
+    @Benchmark
+    public long writeDataConcurrently(Writer writer) {
+        writer.n++;
+        return Wires.writeDataConcurrently(writer.wire, false, writer.writer);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void writeData(Writer writer) {
+        writer.n++;
+        Wires.writeData(writer.wire, false, writer.writer);
+    }
+}
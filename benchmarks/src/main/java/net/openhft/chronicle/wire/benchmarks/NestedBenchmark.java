@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * A message with a sequence of small nested marshallables. BINARY uses the shortest length which fits for each
+ * nested value, BINARY_FIXED always uses a 32-bit length. The size of the message is printed in the setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NestedBenchmark {
+    static final int LEGS = 4;
+
+    @Param({"BINARY", "BINARY_FIXED"})
+    String wireType;
+
+    final Bytes bytes = nativeBytes();
+    final Data[] legs = new Data[LEGS];
+    final Data leg = new Data();
+    Wire wire;
+    long length;
+
+    @Setup
+    public void setup() {
+        wire = WireBenchmark.createWire(wireType, bytes);
+        for (int i = 0; i < LEGS; i++) {
+            legs[i] = new Data();
+            legs[i].text.append("leg-").append(i);
+            legs[i].l = i * 1000;
+            legs[i].d = i + 0.5;
+        }
+        write();
+        length = bytes.position();
+        System.out.println("\n" + wireType + " message length " + length + " bytes");
+    }
+
+    @Benchmark
+    public long write() {
+        wire.clear();
+        wire.write(() -> "legs").sequence(v -> {
+            for (Data data : legs)
+                v.marshallable(data);
+        });
+        return bytes.position();
+    }
+
+    @Benchmark
+    public long read() {
+        bytes.position(0);
+        bytes.limit(length);
+        long[] sum = {0};
+        wire.read(() -> "legs").sequence(v -> {
+            while (v.hasNextSequenceItem()) {
+                v.marshallable(leg);
+                sum[0] += leg.l;
+            }
+        });
+        return sum[0];
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Writing and reading a stream of mixed types with ValueOut.object and ValueIn.object, which look up the handler
+ * for each class in ObjectHandlers, vs the chain of instanceof tests ValueOut.object used before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ObjectDispatchBenchmark {
+    static final Object[] VALUES = {
+            "text", 12345678901L, 123, new Data(), Collections.singletonMap("key", "value"), (byte) 1, (short) 2,
+            'c', new StringBuilder("builder")
+    };
+    static final Class[] TYPES = {
+            String.class, Long.class, Integer.class, Data.class, Map.class, Byte.class, Short.class, Character.class,
+            StringBuilder.class
+    };
+
+    @Param({"BINARY", "TEXT"})
+    WireType wireType;
+
+    final Bytes bytes = nativeBytes();
+    final StringBuilder sb = new StringBuilder();
+    final Data data = new Data();
+    Wire wire;
+
+    static WireOut instanceofChain(ValueOut out, Object value) {
+        if (value instanceof byte[])
+            return out.rawBytes((byte[]) value);
+        if (value == null)
+            return out.text(null);
+        if (value instanceof Map)
+            return out.map((Map) value);
+        if (value instanceof Byte)
+            return out.int8((Byte) value);
+        else if (value instanceof Character)
+            return out.text(value.toString());
+        else if (value instanceof Short)
+            return out.int16((Short) value);
+        else if (value instanceof Integer)
+            return out.int32((Integer) value);
+        else if (value instanceof Long)
+            return out.int64((Long) value);
+        else if (value instanceof CharSequence)
+            return out.text((CharSequence) value);
+        else if (value instanceof Marshallable)
+            return out.marshallable((Marshallable) value);
+        else if (value instanceof Throwable)
+            return out.throwable((Throwable) value);
+        throw new IllegalStateException("type=" + value.getClass() + " is unsupported");
+    }
+
+    @Setup
+    public void setup() {
+        wire = wireType.apply(bytes);
+    }
+
+    @Benchmark
+    public Wire writeInstanceofChain() {
+        bytes.clear();
+        for (Object value : VALUES)
+            instanceofChain(wire.write(() -> "value"), value);
+        return wire;
+    }
+
+    @Benchmark
+    public Wire writeDispatch() {
+        bytes.clear();
+        for (Object value : VALUES)
+            wire.write(() -> "value").object(value);
+        return wire;
+    }
+
+    @Benchmark
+    public Object writeAndReadDispatch() {
+        writeDispatch();
+        wire.flip();
+        Object last = null;
+        for (Class type : TYPES) {
+            if (type == Data.class)
+                last = wire.read(() -> "value").object(data, Data.class);
+            else if (type == StringBuilder.class)
+                last = wire.read(() -> "value").object(sb, StringBuilder.class);
+            else
+                last = wire.read(() -> "value").object(type);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object uuid() {
+        bytes.clear();
+        wire.write(() -> "uuid").object(new UUID(1, 2));
+        wire.flip();
+        return wire.read(() -> "uuid").object(UUID.class);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Reading 2 of the 40 fields of a message, out of order, vs decoding every field.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PartialReadBenchmark {
+    static final int FIELDS = 40;
+    static final WireKey[] KEYS = new WireKey[FIELDS];
+
+    static {
+        for (int i = 0; i < FIELDS; i++) {
+            String name = "field" + i;
+            KEYS[i] = () -> name;
+        }
+    }
+
+    @Param({"BINARY", "BINARY_NUMERIC", "TEXT"})
+    String wireType;
+
+    final Bytes bytes = nativeBytes();
+    final StringBuilder sb = new StringBuilder();
+    Wire wire;
+    long sum;
+
+    @Setup
+    public void setup() {
+        wire = WireBenchmark.createWire(wireType, bytes);
+        wire.write(() -> "order").marshallable(w -> {
+            for (int i = 0; i < FIELDS; i++) {
+                if (i % 2 == 0)
+                    w.write(KEYS[i]).int64(i * 1000L);
+                else
+                    w.write(KEYS[i]).text("text value " + i);
+            }
+        });
+        wire.flip();
+    }
+
+    @Benchmark
+    public long fullDecode() {
+        bytes.position(0);
+        wire.read(() -> "order").marshallable(r -> {
+            for (int i = 0; i < FIELDS; i++) {
+                if (i % 2 == 0)
+                    sum += r.read(KEYS[i]).int64();
+                else
+                    r.read(KEYS[i]).textTo(sb);
+            }
+        });
+        return sum;
+    }
+
+    @Benchmark
+    public long partialRead() {
+        bytes.position(0);
+        wire.read(() -> "order").marshallable(r -> {
+            sum += r.read(KEYS[34]).int64();
+            sum += r.read(KEYS[30]).int64();
+        });
+        return sum;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Decodes a stream of events of three types with typedMarshallable, allocating each event or reusing them from a
+ * MarshallablePool. Run with -prof gc to see the allocation per op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PooledReadBenchmark {
+    static final int EVENTS = 30;
+
+    final Bytes bytes = nativeBytes();
+    final Wire wire = new BinaryWire(bytes);
+    final MarshallablePool pool = new MarshallablePool();
+    long length;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = i % 3 == 0 ? new NewOrder() : i % 3 == 1 ? new Fill() : new Cancel();
+            event.id = i;
+            event.symbol = new StringBuilder("EURUSD");
+            event.price = 1.1 + i / 1e4;
+            wire.write(() -> "event").typedMarshallable(event);
+        }
+        length = bytes.position();
+    }
+
+    private void reset() {
+        bytes.position(0);
+        bytes.limit(length);
+    }
+
+    @Benchmark
+    public long allocate() {
+        reset();
+        long sum = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = (Event) wire.read(() -> "event").typedMarshallable();
+            sum += event.id;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long pooled() {
+        reset();
+        long sum = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = (Event) wire.read(() -> "event").typedMarshallable(pool);
+            sum += event.id;
+            pool.release(event);
+        }
+        return sum;
+    }
+
+    public abstract static class Event implements Marshallable {
+        // typedMarshallable() doesn't call a constructor.
+        StringBuilder symbol;
+        long id;
+        double price;
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "id").int64(id)
+                    .write(() -> "symbol").text(symbol)
+                    .write(() -> "price").float64(price);
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            if (symbol == null)
+                symbol = new StringBuilder();
+            wire.read(() -> "id").int64(x -> id = x)
+                    .read(() -> "symbol").textTo(symbol);
+            wire.read(() -> "price").float64(x -> price = x);
+        }
+    }
+
+    public static class NewOrder extends Event {
+    }
+
+    public static class Fill extends Event {
+    }
+
+    public static class Cancel extends Event {
+    }
+}
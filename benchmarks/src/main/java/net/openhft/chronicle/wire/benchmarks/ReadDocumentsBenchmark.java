@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
+import net.openhft.chronicle.wire.WireIn;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Replays a buffer of small documents, with meta-data every 10th, one readDocument at a time or in one readDocuments
+ * batch. Scores are per document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReadDocumentsBenchmark {
+    static final int COUNT = 1000;
+
+    final Bytes bytes = nativeBytes();
+    final Wire wire = new BinaryWire(bytes);
+    long sum;
+    final Consumer<WireIn> reader = w -> sum += w.read(() -> "n").int64();
+    long length;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < COUNT; i++) {
+            long n = i;
+            if (i % 10 == 0)
+                wire.writeDocument(true, w -> w.write(() -> "meta").int64(n));
+            wire.writeDocument(false, w -> w.write(() -> "n").int64(n));
+        }
+        length = bytes.position();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public long readDocument() {
+        bytes.position(0);
+        bytes.limit(length);
+        while (wire.readDocument(null, reader))
+            ;
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public int readDocuments() {
+        bytes.position(0);
+        bytes.limit(length);
+        return wire.readDocuments(COUNT, reader);
+    }
+}
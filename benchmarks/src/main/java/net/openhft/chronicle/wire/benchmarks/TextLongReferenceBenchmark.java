@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import net.openhft.chronicle.wire.TextLongReference;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Three threads read a TextLongReference while one adds to it, as when several processes poll a counter in a
+ * shared text file which one of them updates.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextLongReferenceBenchmark {
+    // the reference only holds where the value is, so the threads can share it.
+    final TextLongReference reference = new TextLongReference();
+    NativeBytesStore bytesStore;
+
+    @Setup
+    public void setup() {
+        bytesStore = NativeBytesStore.nativeStoreWithFixedCapacity(TextLongReference.template.length);
+        reference.bytesStore(bytesStore, 0, reference.maxSize());
+    }
+
+    @TearDown
+    public void tearDown() {
+        bytesStore.close();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public long get() {
+        return reference.getValue();
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public long add() {
+        return reference.addValue(1);
+    }
+
+    @Benchmark
+    @Group("uncontended")
+    public long getAlone() {
+        return reference.getValue();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.TextWire;
+import net.openhft.chronicle.wire.WireIn;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Reads a TextWire message with size levels of nesting (DEEP) or size nested values side by side (WIDE). The time
+ * per op divided by size should stay about the same as size grows if the parsing is linear.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextNestedBenchmark {
+    @Param({"DEEP", "WIDE"})
+    String shape;
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    final Bytes bytes = nativeBytes();
+    TextWire wire;
+    long length;
+    int level;
+    long sum;
+
+    @Setup
+    public void setup() {
+        wire = new TextWire(bytes);
+        if (shape.equals("DEEP")) {
+            // written without indentation, which would make the message grow with the square of the depth.
+            StringBuilder sb = new StringBuilder("message: {");
+            for (int i = size; i > 1; i--)
+                sb.append(" value: ").append(i).append(", next: {");
+            sb.append(" value: 1");
+            for (int i = 0; i < size; i++)
+                sb.append(" }");
+            bytes.append(sb).append('\n');
+        } else {
+            wire.write(() -> "message").marshallable(w -> {
+                for (int i = 0; i < size; i++) {
+                    int n = i;
+                    w.write(() -> "item").marshallable(v -> v.write(() -> "value").int64(n));
+                }
+            });
+        }
+        length = bytes.position();
+        System.out.println("\n" + shape + " " + size + " message length " + length + " bytes");
+    }
+
+    void readLevel(WireIn w) {
+        sum += w.read(() -> "value").int64();
+        if (--level > 0)
+            w.read(() -> "next").marshallable(this::readLevel);
+    }
+
+    void readItems(WireIn w) {
+        for (int i = 0; i < size; i++)
+            w.read(() -> "item").marshallable(v -> sum += v.read(() -> "value").int64());
+    }
+
+    @Benchmark
+    public long read() {
+        bytes.position(0);
+        bytes.limit(length);
+        sum = 0;
+        level = size;
+        if (shape.equals("DEEP"))
+            wire.read(() -> "message").marshallable(this::readLevel);
+        else
+            wire.read(() -> "message").marshallable(this::readItems);
+        return sum;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.TextWire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleConsumer;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Writes and reads a TextWire message of timestamps, quantities and prices, the kind of numbers an audit feed
+ * carries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextNumberBenchmark {
+    static final int COUNT = 16;
+
+    final Bytes bytes = nativeBytes();
+    final TextWire wire = new TextWire(bytes);
+    final long[] timestamps = new long[COUNT];
+    final long[] quantities = new long[COUNT];
+    final double[] prices = new double[COUNT];
+    double sum;
+    final DoubleConsumer addPrice = d -> sum += d;
+    long length;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        for (int i = 0; i < COUNT; i++) {
+            timestamps[i] = 1_430_000_000_000_000_000L + random.nextInt(Integer.MAX_VALUE);
+            quantities[i] = random.nextInt(10_000);
+            // most prices have a few decimal places, some are the result of a calculation.
+            prices[i] = i % 4 == 0 ? random.nextDouble() * 100 : random.nextInt(1_000_000) / 100.0;
+        }
+        write();
+        length = bytes.position();
+        System.out.println("\nmessage length " + length + " bytes");
+    }
+
+    @Benchmark
+    public long write() {
+        wire.clear();
+        for (int i = 0; i < COUNT; i++) {
+            wire.write(() -> "time").int64(timestamps[i]);
+            wire.write(() -> "qty").int64(quantities[i]);
+            wire.write(() -> "price").float64(prices[i]);
+        }
+        return bytes.position();
+    }
+
+    @Benchmark
+    public double read() {
+        bytes.position(0);
+        bytes.limit(length);
+        sum = 0;
+        for (int i = 0; i < COUNT; i++) {
+            sum += wire.read(() -> "time").int64();
+            sum += wire.read(() -> "qty").int64();
+            wire.read(() -> "price").float64(addPrice);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.TextWire;
+import net.openhft.chronicle.wire.WireIn;
+import net.openhft.chronicle.wire.WireOut;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Reads and writes a typical YAML order message, mostly short text values, indentation and field names, so the time
+ * is dominated by skipping white space, finding the end of each field and value and checking text needs quotes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextScanBenchmark {
+    static final String WORDS = "rebalance the portfolio before the close of trading today ";
+
+    // the length of the free text comment at the end of the message.
+    @Param({"16", "256"})
+    int commentLength;
+
+    final Bytes bytes = nativeBytes();
+    final TextWire wire = new TextWire(bytes);
+    final StringBuilder sb = new StringBuilder();
+    String comment;
+    long length;
+    int hash;
+
+    void writeMessage(WireOut w) {
+        w.write(() -> "newOrderSingle").marshallable(o -> o
+                .write(() -> "clientOrderId").text("ORD-2015-06-19-000042")
+                .write(() -> "account").text("HEDGE-FUND-ACCOUNT-7")
+                .write(() -> "symbol").text("EURUSD.SPOT")
+                .write(() -> "side").text("BUY")
+                .write(() -> "orderType").text("LIMIT")
+                .write(() -> "timeInForce").text("GOOD_TILL_CANCEL")
+                .write(() -> "venue").marshallable(v -> v
+                        .write(() -> "exchange").text("LONDON-STOCK-EXCHANGE")
+                        .write(() -> "segment").text("INTERNATIONAL-ORDER-BOOK"))
+                .write(() -> "comment").text(comment));
+    }
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < commentLength)
+            sb.append(WORDS);
+        comment = sb.substring(0, commentLength).trim();
+        writeMessage(wire);
+        length = bytes.position();
+    }
+
+    private void text(WireIn w, String name) {
+        w.read(() -> name).textTo(sb);
+        hash += sb.length();
+    }
+
+    @Benchmark
+    public int read() {
+        bytes.position(0);
+        bytes.limit(length);
+        hash = 0;
+        wire.read(() -> "newOrderSingle").marshallable(o -> {
+            text(o, "clientOrderId");
+            text(o, "account");
+            text(o, "symbol");
+            text(o, "side");
+            text(o, "orderType");
+            text(o, "timeInForce");
+            o.read(() -> "venue").marshallable(v -> {
+                text(v, "exchange");
+                text(v, "segment");
+            });
+            text(o, "comment");
+        });
+        return hash;
+    }
+
+    @Benchmark
+    public long write() {
+        bytes.clear();
+        writeMessage(wire);
+        return bytes.position();
+    }
+}
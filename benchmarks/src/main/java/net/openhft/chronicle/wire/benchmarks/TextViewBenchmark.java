@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.core.util.StringUtils;
+import net.openhft.chronicle.wire.BinaryWire;
+import net.openhft.chronicle.wire.Wire;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Matching a symbol read from a BinaryWire by copying it to a String, copying it to a StringBuilder or looking at it
+ * where it is in the bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextViewBenchmark {
+    static final String SYMBOL = "EURUSD.SPOT";
+
+    final Bytes bytes = nativeBytes();
+    final Wire wire = new BinaryWire(bytes);
+    final StringBuilder sb = new StringBuilder();
+    long length;
+
+    @Setup
+    public void setup() {
+        wire.write(() -> "symbol").text(SYMBOL);
+        length = bytes.position();
+    }
+
+    private Wire reset() {
+        bytes.position(0);
+        bytes.limit(length);
+        return wire;
+    }
+
+    @Benchmark
+    public boolean text() {
+        return SYMBOL.equals(reset().read(() -> "symbol").text());
+    }
+
+    @Benchmark
+    public boolean textTo() {
+        return StringUtils.isEqual(SYMBOL, reset().read(() -> "symbol").textTo(sb));
+    }
+
+    @Benchmark
+    public boolean textView() {
+        return StringUtils.isEqual(SYMBOL, reset().read(() -> "symbol").textView());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Writes and reads a typed marshallable named by its class name, an alias or, for a BinaryWire, a type id, and looks
+ * up a class name with Class.forName against the ClassAliases cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TypedMarshallableBenchmark {
+    static {
+        ClassAliases.addAlias(AliasedOrder.class, "Order");
+        ClassAliases.addAlias(NumberedOrder.class, "NumberedOrder");
+        ClassAliases.addTypeId(NumberedOrder.class, 1);
+    }
+
+    @Param({"CLASS_NAME", "ALIAS", "TYPE_ID"})
+    String naming;
+
+    @Param({"BINARY", "TEXT"})
+    String wireType;
+
+    final Bytes bytes = nativeBytes();
+    final StringBuilder className = new StringBuilder(Order.class.getName());
+    Wire wire;
+    Order order;
+
+    @Setup
+    public void setup() {
+        wire = wireType.equals("TEXT") ? new TextWire(bytes) : new BinaryWire(bytes);
+        order = naming.equals("CLASS_NAME") ? new Order()
+                : naming.equals("ALIAS") ? new AliasedOrder()
+                : new NumberedOrder();
+        order.symbol = "EURUSD";
+        order.price = 1.1234;
+        order.quantity = 1000000;
+        write();
+        System.out.println("\n" + naming + " " + wireType + " message length " + bytes.position() + " bytes");
+    }
+
+    @Benchmark
+    public long write() {
+        bytes.clear();
+        wire.write(() -> "data").typedMarshallable(order);
+        return bytes.position();
+    }
+
+    @Benchmark
+    public Object writeAndRead() {
+        write();
+        wire.flip();
+        return wire.read(() -> "data").typedMarshallable();
+    }
+
+    @Benchmark
+    public Class<?> classForName() throws ClassNotFoundException {
+        return Class.forName(className.toString());
+    }
+
+    @Benchmark
+    public Class<?> classAliasesForName() throws ClassNotFoundException {
+        return ClassAliases.forName(className);
+    }
+
+    public static class Order implements Marshallable {
+        String symbol;
+        double price;
+        long quantity;
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "symbol").text(symbol)
+                    .write(() -> "price").float64(price)
+                    .write(() -> "quantity").int64(quantity);
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            symbol = wire.read(() -> "symbol").text();
+            price = wire.read(() -> "price").float64();
+            quantity = wire.read(() -> "quantity").int64();
+        }
+    }
+
+    public static class AliasedOrder extends Order {
+    }
+
+    public static class NumberedOrder extends Order {
+    }
+}
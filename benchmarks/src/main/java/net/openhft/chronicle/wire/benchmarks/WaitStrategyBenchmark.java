@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Two threads pass a document back and forth through two buffers, each waiting for the other's with a
+ * WaitStrategy, so the score is a round trip including two wake ups.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WaitStrategyBenchmark {
+    static final long CAPACITY = 256 << 20;
+    // so a thread left waiting at the end of an iteration doesn't hold up the next.
+    static final long TIMEOUT_MS = 10;
+
+    @Param({"BUSY_SPIN", "YIELD", "BACKOFF"})
+    String strategy;
+
+    WaitStrategy waitStrategy;
+    final NativeBytesStore ping = NativeBytesStore.nativeStoreWithFixedCapacity(CAPACITY);
+    final NativeBytesStore pong = NativeBytesStore.nativeStoreWithFixedCapacity(CAPACITY);
+    Wire pingOut, pingIn, pongOut, pongIn;
+    long n;
+    final Consumer<WireOut> writer = w -> w.write(() -> "n").int64(n);
+    final Consumer<WireIn> reader = w -> w.read(() -> "n").int64();
+
+    @Setup(Level.Iteration)
+    public void setup() throws ReflectiveOperationException {
+        waitStrategy = (WaitStrategy) WaitStrategy.class.getField(strategy).get(null);
+        ping.zeroOut(0, CAPACITY);
+        pong.zeroOut(0, CAPACITY);
+        pingOut = new BinaryWire(ping.bytes());
+        pingIn = new BinaryWire(ping.bytes());
+        pongOut = new BinaryWire(pong.bytes());
+        pongIn = new BinaryWire(pong.bytes());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ping.close();
+        pong.close();
+    }
+
+    @Benchmark
+    @Group("roundTrip")
+    public boolean pinger() {
+        pingOut.writeDocument(false, writer);
+        return pongIn.readDocument(null, reader, waitStrategy, TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    @Group("roundTrip")
+    public boolean ponger() {
+        if (!pingIn.readDocument(null, reader, waitStrategy, TIMEOUT_MS, TimeUnit.MILLISECONDS))
+            return false;
+        pongOut.writeDocument(false, writer);
+        return true;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Write and read of a small message for each of the wire formats.
+ * <p>
+ * This replaces the System.nanoTime() loops in BinaryWirePerfTest and RawWirePerfTest as the source of numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WireBenchmark {
+    @Param({"BINARY", "BINARY_FIXED", "BINARY_NUMERIC", "BINARY_FIXED_NUMERIC",
+            "BINARY_FIELDLESS", "BINARY_FIXED_FIELDLESS", "TEXT", "RAW", "QUERY"})
+    String wireType;
+
+    final Bytes bytes = nativeBytes();
+    final Data a = new Data();
+    final Data b = new Data();
+    Wire wire;
+    long length;
+    int counter;
+
+    static Wire createWire(String wireType, Bytes bytes) {
+        switch (wireType) {
+            case "BINARY":
+                return new BinaryWire(bytes);
+            case "BINARY_FIXED":
+                return new BinaryWire(bytes, true, false, false);
+            case "BINARY_NUMERIC":
+                return new BinaryWire(bytes, false, true, false);
+            case "BINARY_FIXED_NUMERIC":
+                return new BinaryWire(bytes, true, true, false);
+            case "BINARY_FIELDLESS":
+                return new BinaryWire(bytes, false, false, true);
+            case "BINARY_FIXED_FIELDLESS":
+                return new BinaryWire(bytes, true, false, true);
+            case "TEXT":
+                return new TextWire(bytes);
+            case "RAW":
+                return new RawWire(bytes);
+            case "QUERY":
+                return new QueryWire(bytes);
+            default:
+                throw new IllegalArgumentException("Unknown wireType " + wireType);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        wire = createWire(wireType, bytes);
+        a.text.append("Hello World");
+        a.b = true;
+        a.s = 12345;
+        a.d = 1.25;
+        a.l = 123456789L;
+        a.i = 123456;
+
+        wire.clear();
+        a.writeMarshallable(wire);
+        length = bytes.position();
+        wire.flip();
+        b.readMarshallable(wire);
+        if (!a.equals(b))
+            throw new AssertionError(wireType + " did not round trip, expected " + a + " was " + b);
+    }
+
+    /**
+     * Vary the numbers so the values written can't be treated as constants.
+     */
+    private void next() {
+        int i = counter++;
+        a.b = (i & 1) != 0;
+        a.d = i;
+        a.i = i;
+        a.l = i;
+    }
+
+    @Benchmark
+    public long write() {
+        next();
+        wire.clear();
+        a.writeMarshallable(wire);
+        return bytes.position();
+    }
+
+    @Benchmark
+    public Data read() {
+        bytes.position(0);
+        bytes.limit(length);
+        b.readMarshallable(wire);
+        return b;
+    }
+
+    @Benchmark
+    public Data writeAndRead() {
+        next();
+        wire.clear();
+        a.writeMarshallable(wire);
+        wire.flip();
+        b.readMarshallable(wire);
+        return b;
+    }
+}
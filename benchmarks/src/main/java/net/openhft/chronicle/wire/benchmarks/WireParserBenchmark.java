@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire.benchmarks;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.wire.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+
+/**
+ * Dispatching events to one of many registered handlers with the TreeMap based VanillaWireParser vs the
+ * HashWireParser. Only the HashWireParser dispatches on field numbers so it is the only one run against BINARY_NUMERIC.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WireParserBenchmark {
+    static final int EVENTS = 150;
+
+    @Param({"Vanilla", "Hash"})
+    String parserType;
+
+    @Param({"BINARY", "TEXT"})
+    String wireType;
+
+    final Bytes bytes = nativeBytes();
+    Wire wire;
+    WireParser parser;
+    long sum;
+
+    @Setup
+    public void setup() {
+        parser = parserType.equals("Hash") ? new HashWireParser() : new VanillaWireParser();
+        for (int i = 0; i < EVENTS; i++) {
+            WireKey key = eventKey(i);
+            parser.register(key, v -> sum += v.int64());
+        }
+        wire = WireBenchmark.createWire(wireType, bytes);
+        for (int i = 0; i < EVENTS; i += 7)
+            wire.write(eventKey(i)).int64(i);
+        wire.flip();
+    }
+
+    static WireKey eventKey(int i) {
+        String name = "event" + i;
+        return new WireKey() {
+            @Override
+            public CharSequence name() {
+                return name;
+            }
+
+            @Override
+            public int code() {
+                return i + 1;
+            }
+        };
+    }
+
+    @Benchmark
+    public long parse() {
+        bytes.position(0);
+        while (bytes.remaining() > 0)
+            parser.parse(wire);
+        return sum;
+    }
+}
@@ -20,49 +20,128 @@ package net.openhft.chronicle.wire;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesStore;
 
+import java.util.function.LongBinaryOperator;
+
+/*
+The format for a long array in binary is a long header, the capacity in the low 56 bits and the log2 of the stride
+less 3 in the top byte, followed by capacity values. A dense array has a header of just its capacity and a stride
+of 8 bytes; a padded array has each value in its own 64 byte cache line so threads updating different values don't
+contend for the same line.
+ */
 public class BinaryLongArrayReference implements ByteableLongArrayValues {
+    static final int CACHE_LINE = 64;
+    static final int DENSE_SHIFT = 3;
     private static final long CAPACITY = 0;
     private static final long VALUES = 8;
+    private static final int PADDED_SHIFT = 6;
+    private static final int STRIDE_BITS = 56;
+    private static final long CAPACITY_MASK = (1L << STRIDE_BITS) - 1;
     private BytesStore bytes;
     private long offset;
     private long length = VALUES;
+    private int shift = DENSE_SHIFT;
 
     public static void write(Bytes bytes, long capacity) {
-        bytes.writeLong(capacity);
-        long start = bytes.position() + VALUES;
-        bytes.zeroOut(start, start + (capacity << 3));
-        bytes.skip(capacity << 3);
+        write(bytes, capacity, false);
+    }
+
+    public static void write(Bytes bytes, long capacity, boolean padded) {
+        long header = header(capacity, padded);
+        bytes.writeLong(header);
+        long start = bytes.position();
+        long size = capacity << shift(header);
+        bytes.zeroOut(start, start + size);
+        bytes.skip(size);
     }
 
     public static void lazyWrite(Bytes bytes, long capacity) {
-        //System.out.println("capacity location =" + bytes.position());
-        bytes.writeLong(capacity);
-        bytes.skip(capacity << 3);
+        lazyWrite(bytes, capacity, false);
+    }
+
+    public static void lazyWrite(Bytes bytes, long capacity, boolean padded) {
+        long header = header(capacity, padded);
+        bytes.writeLong(header);
+        bytes.skip(capacity << shift(header));
+    }
+
+    static long header(long capacity, boolean padded) {
+        if (capacity < 0 || capacity > CAPACITY_MASK)
+            throw new IllegalArgumentException("capacity: " + capacity);
+        return padded ? capacity | ((long) (PADDED_SHIFT - DENSE_SHIFT) << STRIDE_BITS) : capacity;
+    }
+
+    static long capacity(long header) {
+        return header & CAPACITY_MASK;
+    }
+
+    static int shift(long header) {
+        return DENSE_SHIFT + (int) (header >>> STRIDE_BITS);
     }
 
     @Override
     public long getCapacity() {
-        return (length - VALUES) >>> 3;
+        return (length - VALUES) >>> shift;
+    }
+
+    public boolean isPadded() {
+        return shift != DENSE_SHIFT;
+    }
+
+    private long valueOffset(long index) {
+        return offset + VALUES + (index << shift);
     }
 
     @Override
     public long getValueAt(long index) {
-        return bytes.readLong(VALUES + offset + index << 3);
+        return bytes.readLong(valueOffset(index));
     }
 
     @Override
     public void setValueAt(long index, long value) {
-        bytes.writeLong(VALUES + offset + index << 3, value);
+        bytes.writeLong(valueOffset(index), value);
     }
 
     @Override
     public long getVolatileValueAt(long index) {
-        return bytes.readVolatileLong(VALUES + offset + index << 3);
+        return bytes.readVolatileLong(valueOffset(index));
     }
 
     @Override
     public void setOrderedValueAt(long index, long value) {
-        bytes.writeOrderedLong(VALUES + offset + index << 3, value);
+        bytes.writeOrderedLong(valueOffset(index), value);
+    }
+
+    /**
+     * Atomically add delta to the value at index.
+     *
+     * @return the value after adding delta.
+     */
+    public long addValueAt(long index, long delta) {
+        return bytes.addAndGetLong(valueOffset(index), delta);
+    }
+
+    public boolean compareAndSwapValueAt(long index, long expected, long value) {
+        return bytes.compareAndSwapLong(valueOffset(index), expected, value);
+    }
+
+    /**
+     * @return the sum of the volatile values, e.g. of counters each updated by one thread.
+     */
+    public long sum() {
+        long sum = 0;
+        for (long i = 0, capacity = getCapacity(); i < capacity; i++)
+            sum += getVolatileValueAt(i);
+        return sum;
+    }
+
+    /**
+     * Combine the volatile values in index order, starting with identity.
+     */
+    public long reduce(long identity, LongBinaryOperator op) {
+        long result = identity;
+        for (long i = 0, capacity = getCapacity(); i < capacity; i++)
+            result = op.applyAsLong(result, getVolatileValueAt(i));
+        return result;
     }
 
     @Override
@@ -72,12 +151,13 @@ public class BinaryLongArrayReference implements ByteableLongArrayValues {
         this.bytes = bytes;
         this.offset = offset;
         this.length = length;
+        this.shift = shift(bytes.readLong(offset + CAPACITY));
     }
 
     public static long peakLength(BytesStore bytes, long offset) {
-        final long capacity = bytes.readLong(offset );
-        assert capacity > 0 : "capacity too small";
-        return (capacity << 3) + 8;
+        final long header = bytes.readLong(offset + CAPACITY);
+        assert capacity(header) > 0 : "capacity too small";
+        return (capacity(header) << shift(header)) + VALUES;
     }
 
     @Override
@@ -101,6 +181,6 @@ public class BinaryLongArrayReference implements ByteableLongArrayValues {
 
     @Override
     public long sizeInBytes(long capacity) {
-        return (capacity << 3) + VALUES;
+        return (capacity << shift) + VALUES;
     }
 }
@@ -17,6 +17,8 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Access;
+import net.openhft.chronicle.bytes.Accessor;
 import net.openhft.chronicle.bytes.Byteable;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesUtil;
@@ -32,10 +34,12 @@ import net.openhft.chronicle.wire.util.ShortConsumer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.*;
@@ -51,7 +55,7 @@ public class BinaryWire implements Wire, InternalWireIn {
     public static final int ANY_CODE_MATCH = -1;
     static final int END_OF_BYTES = -1;
 
-    final Bytes<?> bytes;
+    Bytes<?> bytes;
     final ValueOut fixedValueOut = new FixedBinaryValueOut();
     final ValueOut valueOut;
     final ValueIn valueIn = new BinaryValueIn();
@@ -60,6 +64,11 @@ public class BinaryWire implements Wire, InternalWireIn {
     private final boolean fieldLess;
     boolean ready;
 
+    // for reading fields out of order, the index of the fields at each level of nesting.
+    private FieldIndex[] fieldIndexes = {};
+    private int depth = 0;
+    private long scopeStart = -1;
+
     public BinaryWire(Bytes bytes) {
         this(bytes, false, false, false);
     }
@@ -71,6 +80,23 @@ public class BinaryWire implements Wire, InternalWireIn {
         valueOut = fixed ? fixedValueOut : new BinaryValueOut();
     }
 
+    void bytes(@NotNull Bytes bytes) {
+        this.bytes = bytes;
+        ready = false;
+        depth = 0;
+        scopeStart = -1;
+        for (FieldIndex fieldIndex : fieldIndexes)
+            fieldIndex.clear();
+    }
+
+    @NotNull
+    static String nameForTypeId(long typeId) {
+        String name = typeId > Integer.MAX_VALUE ? null : ClassAliases.nameForTypeId((int) typeId);
+        if (name == null)
+            throw new IllegalStateException("Unknown typeId " + typeId + ", add it to ClassAliases");
+        return name;
+    }
+
     static int toIntU30(long l, String error) {
         if (l < 0 || l > Wires.LENGTH_MASK)
             throw new IllegalStateException(String.format(error, l));
@@ -120,12 +146,20 @@ public class BinaryWire implements Wire, InternalWireIn {
 
                 case BinaryWireHighCode.FLOAT:
                     bytes.skip(1);
+                    if (isFixed(peekCode)) {
+                        wire.writeValue().fixed(bytes.readStopBit(), fixedScale(peekCode));
+                        break;
+                    }
                     double d = readFloat0(peekCode);
                     wire.writeValue().float64(d);
                     break;
 
                 case BinaryWireHighCode.INT:
                     bytes.skip(1);
+                    if (isFixed(peekCode)) {
+                        wire.writeValue().fixed(bytes.readStopBit(), fixedScale(peekCode));
+                        break;
+                    }
                     long l = readInt0(peekCode);
                     wire.writeValue().int64(l);
                     break;
@@ -152,18 +186,175 @@ public class BinaryWire implements Wire, InternalWireIn {
 
     @Override
     public ValueIn read() {
+        if (scopeStart < 0)
+            startTopLevel(bytes.position());
         readField(Wires.acquireStringBuilder(), ANY_CODE_MATCH);
         return valueIn;
     }
 
     @Override
     public ValueIn read(@NotNull WireKey key) {
-        StringBuilder sb = readField(Wires.acquireStringBuilder(), key.code());
+        long position = bytes.position();
+        if (scopeStart < 0)
+            startTopLevel(position);
+        consumeSpecial();
+        int peekCode = peekCode();
+        StringBuilder sb = Wires.acquireStringBuilder();
+        if (peekCode == FIELD_NUMBER) {
+            bytes.skip(1);
+            long fieldId = bytes.readStopBit();
+            if (fieldId == key.code()) {
+                if (scopeStart < 0)
+                    readTopLevel((int) fieldId, position);
+                return valueIn;
+            }
+            sb.setLength(0);
+            sb.append(fieldId);
 
-        if (fieldLess || (sb != null && (sb.length() == 0 || StringUtils.isEqual(sb, key.name()))))
+        } else {
+            sb = readField(peekCode, ANY_CODE_MATCH, sb);
+            if (fieldLess || (sb != null && peekCode != END_OF_BYTES && sb.length() == 0))
+                return valueIn;
+            if (sb != null && peekCode != END_OF_BYTES && StringUtils.isEqual(sb, key.name())) {
+                if (scopeStart < 0)
+                    readTopLevel(HashWireParser.hash(key.name()), position);
+                return valueIn;
+            }
+        }
+
+        if (readUnordered(key, position))
+            return valueIn;
+        bytes.position(position);
+        // past the end, the value is empty as before.
+        if (sb == null ? peekCode == END_OF_BYTES : sb.length() == 0)
             return valueIn;
-        throw new UnsupportedOperationException("Unordered fields not supported yet, " +
-                "Expected=" + key.name() + " was: " + sb);
+        throw new UnsupportedOperationException("Field not found. key=" + key.name() + ", was=" + sb);
+    }
+
+    /**
+     * The next field is not the one wanted, so find it using the index of the fields in this marshallable, scanning
+     * ahead once to fill the index if needed. A field is found by number or name as it was written.
+     *
+     * @return true if found and positioned at its value.
+     */
+    private boolean readUnordered(@NotNull WireKey key, long position) {
+        FieldIndex index = fieldIndex();
+        long limit = bytes.limit();
+        if (!index.isFor(limit))
+            // a new marshallable, keep the offsets in case it has the same shape as the last one.
+            index.rebase(scopeStart < 0 ? position : scopeStart, limit);
+
+        int code = key.code();
+        CharSequence name = key.name();
+        StringBuilder sb = Wires.acquireAnotherStringBuilder(name);
+        // at the top level only a field seen in this document can be trusted.
+        boolean topLevel = scopeStart < 0;
+        long fieldPosition = topLevel ? index.seen(code) : index.position(code);
+        if (fieldPosition >= 0 && fieldPosition != position) {
+            bytes.position(fieldPosition);
+            consumeSpecial();
+            if (peekCode() == FIELD_NUMBER && bytes.skip(1).readStopBit() == code)
+                return true;
+        }
+        int hash = HashWireParser.hash(name);
+        fieldPosition = topLevel ? index.seen(hash) : index.position(hash);
+        if (fieldPosition >= 0 && fieldPosition != position) {
+            bytes.position(fieldPosition);
+            consumeSpecial();
+            int peekCode = peekCode();
+            if (isFieldName(peekCode) && StringUtils.isEqual(readField(peekCode, ANY_CODE_MATCH, sb), name))
+                return true;
+        }
+
+        // carry on indexing from where the last scan stopped, which is the start of the scope the first time.
+        bytes.position(index.scanned());
+        while (bytes.remaining() > 0) {
+            long start = bytes.position();
+            consumeSpecial();
+            int peekCode = peekCode();
+            if (peekCode == FIELD_NUMBER) {
+                bytes.skip(1);
+                long fieldId = bytes.readStopBit();
+                if (topLevel && isNextDocument(index, (int) fieldId, start))
+                    return endOfDocument(index, start);
+                index.put((int) fieldId, start);
+                if (fieldId == code) {
+                    index.scanned(start);
+                    return true;
+                }
+
+            } else if (isFieldName(peekCode)) {
+                readField(peekCode, ANY_CODE_MATCH, sb);
+                int fieldHash = HashWireParser.hash(sb);
+                if (topLevel && isNextDocument(index, fieldHash, start))
+                    return endOfDocument(index, start);
+                index.put(fieldHash, start);
+                if (StringUtils.isEqual(sb, name)) {
+                    index.scanned(start);
+                    return true;
+                }
+            }
+            valueIn.skipValue();
+        }
+        index.scanned(bytes.position());
+        return false;
+    }
+
+    /**
+     * Fields at the top level have no enclosing marshallable, so the first field read after the limit changes is
+     * taken as the start of the document for the index.
+     */
+    private void startTopLevel(long position) {
+        FieldIndex index = fieldIndex();
+        long limit = bytes.limit();
+        if (!index.isFor(limit))
+            index.rebase(position, limit);
+    }
+
+    /**
+     * A field read in order at the top level which was already read in this document starts the next one.
+     */
+    private void readTopLevel(int hash, long position) {
+        FieldIndex index = fieldIndex();
+        long seen = index.putSeen(hash, position);
+        if (seen >= 0 && seen < position) {
+            index.rebase(position, bytes.limit());
+            index.put(hash, position);
+        }
+    }
+
+    private static boolean isNextDocument(FieldIndex index, int hash, long position) {
+        long seen = index.seen(hash);
+        return seen >= 0 && seen < position;
+    }
+
+    /**
+     * Don't scan past the top level document into the next one.
+     */
+    private static boolean endOfDocument(FieldIndex index, long position) {
+        index.scanned(position);
+        return false;
+    }
+
+    private FieldIndex fieldIndex() {
+        if (depth >= fieldIndexes.length) {
+            fieldIndexes = Arrays.copyOf(fieldIndexes, depth + 4);
+            for (int i = 0; i < fieldIndexes.length; i++)
+                if (fieldIndexes[i] == null)
+                    fieldIndexes[i] = new FieldIndex();
+        }
+        return fieldIndexes[depth];
+    }
+
+    private static boolean isFieldName(int code) {
+        return (code >= FIELD_NAME0 && code <= FIELD_NAME31) || code == FIELD_NAME_ANY || code == EVENT_NAME;
+    }
+
+    private void skipUTF() {
+        long len = bytes.readStopBit();
+        // -1 is a null string
+        if (len > 0)
+            bytes.skip(len);
     }
 
     @Override
@@ -209,6 +400,43 @@ public class BinaryWire implements Wire, InternalWireIn {
         return readField(peekCode, codeMatch, name);
     }
 
+    /**
+     * Reads the next field and finds its handler, matching a short name against the bytes in place and a field number
+     * by number. The name is only decoded into {@code name} if it can't be matched this way.
+     *
+     * @return the handler or null if there isn't one.
+     */
+    @Nullable
+    Consumer<ValueIn> readEventHandler(@NotNull HashWireParser parser, @NotNull StringBuilder name) {
+        consumeSpecial();
+        int peekCode = peekCode();
+        if (peekCode >= FIELD_NAME0 && peekCode <= FIELD_NAME31) {
+            int len = peekCode & 0x1f;
+            long start = bytes.position() + 1;
+            if (bytes.remaining() > len) {
+                Consumer<ValueIn> consumer = parser.lookup(bytes, start, len);
+                if (consumer != null) {
+                    bytes.skip(len + 1);
+                    return consumer;
+                }
+            }
+
+        } else if (peekCode == FIELD_NUMBER) {
+            bytes.skip(1);
+            long fieldId = bytes.readStopBit();
+            Consumer<ValueIn> consumer = parser.lookup((int) fieldId);
+            if (consumer != null)
+                return consumer;
+            // a name which was all digits is written as a number.
+            name.setLength(0);
+            name.append(fieldId);
+            return parser.lookup(name);
+        }
+        if (readField(peekCode, ANY_CODE_MATCH, name) == null)
+            name.setLength(0);
+        return parser.lookup(name);
+    }
+
     private void consumeSpecial() {
         while (true) {
             int code = peekCode();
@@ -222,19 +450,11 @@ public class BinaryWire implements Wire, InternalWireIn {
                     bytes.skip(bytes.readUnsignedInt());
                     break;
 
-                case COMMENT: {
+                case COMMENT:
+                case HINT:
                     bytes.skip(1);
-                    StringBuilder sb = Wires.acquireStringBuilder();
-                    bytes.readUTFΔ(sb);
+                    skipUTF();
                     break;
-                }
-
-                case HINT: {
-                    bytes.skip(1);
-                    StringBuilder sb = Wires.acquireStringBuilder();
-                    bytes.readUTFΔ(sb);
-                    break;
-                }
 
                 default:
                     return;
@@ -324,6 +544,11 @@ public class BinaryWire implements Wire, InternalWireIn {
                 break;
             }
 
+            case TYPE_ID:
+                bytes.skip(1);
+                wire.writeValue().type(nameForTypeId(bytes.readStopBit()));
+                break;
+
             case TYPE_LITERAL: {
                 bytes.skip(1);
                 StringBuilder sb = Wires.acquireStringBuilder();
@@ -409,7 +634,7 @@ public class BinaryWire implements Wire, InternalWireIn {
                 return bytes.readFloat();
             case FLOAT64:
                 return bytes.readDouble();
-/*            case FIXED1:
+            case FIXED1:
                 return bytes.readStopBit() / 1e1;
             case FIXED2:
                 return bytes.readStopBit() / 1e2;
@@ -420,7 +645,7 @@ public class BinaryWire implements Wire, InternalWireIn {
             case FIXED5:
                 return bytes.readStopBit() / 1e5;
             case FIXED6:
-                return bytes.readStopBit() / 1e6;*/
+                return bytes.readStopBit() / 1e6;
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -449,7 +674,6 @@ public class BinaryWire implements Wire, InternalWireIn {
                 return bytes.readUnsignedInt();
             case INT64:
                 return bytes.readLong();
-/*
             case FIXED_6:
                 return bytes.readStopBit() * 1000000L;
             case FIXED_5:
@@ -464,7 +688,6 @@ public class BinaryWire implements Wire, InternalWireIn {
                 return bytes.readStopBit() * 10L;
             case FIXED:
                 return bytes.readStopBit();
-*/
         }
         throw new UnsupportedOperationException(stringForCode(code));
     }
@@ -473,6 +696,21 @@ public class BinaryWire implements Wire, InternalWireIn {
         return (code & 128) == 0;
     }
 
+    private static boolean isFixed(int code) {
+        return (code >= FIXED1 && code <= FIXED6) || (code >= FIXED_6 && code <= FIXED);
+    }
+
+    /**
+     * @return the number of decimal places of a FIXED code, negative for a multiple of a power of ten.
+     */
+    private static int fixedScale(int code) {
+        return code <= FIXED6 ? code - FIXED1 + 1 : code - FIXED;
+    }
+
+    private static int fixedCode(int scale) {
+        return scale > 0 ? FIXED1 + scale - 1 : FIXED + scale;
+    }
+
 
     private double readFloat(int code) {
         if (code < 128)
@@ -555,12 +793,15 @@ public class BinaryWire implements Wire, InternalWireIn {
                 } catch (NumberFormatException ignored) {
                 }
             }
-            bytes.writeByte((byte) (FIELD_NAME0 + len))
-                    .append(name);
-
-        } else {
-            writeCode(FIELD_NAME_ANY).writeUTFΔ(name);
+            // the length in the code is the length in bytes once encoded.
+            int utfLen = (int) BytesUtil.findUTFLength(name);
+            if (utfLen < 0x20) {
+                bytes.writeByte((byte) (FIELD_NAME0 + utfLen))
+                        .append(name);
+                return;
+            }
         }
+        writeCode(FIELD_NAME_ANY).writeUTFΔ(name);
     }
 
     private void writeField(int code) {
@@ -621,11 +862,51 @@ public class BinaryWire implements Wire, InternalWireIn {
         return bytes.readUnsignedByte();
     }
 
+    private static void checkBounds(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length)
+            throw new ArrayIndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + arrayLength);
+    }
+
+    /**
+     * Copy the values straight from the array into the bytes, in native byte order.
+     */
+    @SuppressWarnings("unchecked")
+    private <A> void writeArray(Accessor.Full<A, A> accessor, A array, int offset, int length) {
+        Bytes b = bytes;
+        long size = accessor.size(length);
+        if (size > b.remaining())
+            throw new BufferOverflowException();
+        long position = b.position();
+        b.ensureCapacity(position + size);
+        Access.copy(accessor, array, offset, b.access(), b.accessHandle(), b.accessOffset(position), length);
+        b.skip(size);
+    }
+
+    /**
+     * Copy as many of the count values as fit into the array and skip the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private <A> void readArray(Accessor.Full<A, A> accessor, A array, int count, int arrayLength) {
+        Bytes b = bytes;
+        long size = accessor.size(count);
+        if (size > b.remaining())
+            throw new BufferUnderflowException();
+        long copy = accessor.size(Math.min(count, arrayLength));
+        Access.copy(b.access(), b.accessHandle(), b.accessOffset(b.position()), accessor, array, 0, copy);
+        b.skip(size);
+    }
+
+    private int readArrayCount(long count) {
+        return Maths.toInt32(count, "Array length %,d out of 32-bit int range.");
+    }
+
     public String toString() {
         return bytes.toDebugString(bytes.capacity());
     }
 
     class FixedBinaryValueOut implements ValueOut {
+        // the number of values written for binding, which can't be moved once aligned.
+        int bindings = 0;
         boolean nested = false;
 
         @Override
@@ -648,8 +929,9 @@ public class BinaryWire implements Wire, InternalWireIn {
 
             } else {
                 int len = s.length();
-                if (len < 0x20) {
-                    bytes.writeUnsignedByte(STRING_0 + len).append(s);
+                int utfLen;
+                if (len < 0x20 && (utfLen = (int) BytesUtil.findUTFLength(s)) < 0x20) {
+                    bytes.writeUnsignedByte(STRING_0 + utfLen).append(s);
                 } else {
                     writeCode(STRING_ANY).writeUTFΔ(s);
                 }
@@ -752,17 +1034,66 @@ public class BinaryWire implements Wire, InternalWireIn {
 
         @Override
         public WireOut int64array(long capacity) {
+            bindings++;
             writeCode(I64_ARRAY);
             BinaryLongArrayReference.lazyWrite(bytes, capacity);
             return BinaryWire.this;
         }
 
+        @Override
+        public WireOut int64array(long capacity, boolean padded) {
+            if (!padded)
+                return int64array(capacity);
+            bindings++;
+            // pad so the values, after the code and the header, start on a cache line.
+            addPadding((int) (-(bytes.position() + 1 + 8) & (BinaryLongArrayReference.CACHE_LINE - 1)));
+            writeCode(I64_ARRAY);
+            BinaryLongArrayReference.lazyWrite(bytes, capacity, true);
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut array(int[] array, int offset, int length) {
+            checkBounds(array.length, offset, length);
+            writeCode(I32_ARRAY).writeStopBit(length);
+            writeArray(Accessor.intArrayAccessor(), array, offset, length);
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut array(long[] array, int offset, int length) {
+            checkBounds(array.length, offset, length);
+            // the same layout as int64array() so it can be bound to LongArrayValues as well.
+            writeCode(I64_ARRAY).writeLong(length);
+            writeArray(Accessor.longArrayAccessor(), array, offset, length);
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut array(double[] array, int offset, int length) {
+            checkBounds(array.length, offset, length);
+            writeCode(F64_ARRAY).writeStopBit(length);
+            writeArray(Accessor.doubleArrayAccessor(), array, offset, length);
+            return BinaryWire.this;
+        }
+
         @Override
         public WireOut float32(float f) {
             writeCode(FLOAT32).writeFloat(f);
             return BinaryWire.this;
         }
 
+        @Override
+        public WireOut fixed(long mantissa, int scale) {
+            if (scale < -6 || scale > 6) {
+                int scale2 = scale < 0 ? -6 : 6;
+                mantissa = Decimals.rescale(mantissa, scale, scale2);
+                scale = scale2;
+            }
+            writeCode(fixedCode(scale)).writeStopBit(mantissa);
+            return BinaryWire.this;
+        }
+
         @Override
         public WireOut float64(double d) {
             writeCode(FLOAT64).writeDouble(d);
@@ -789,7 +1120,11 @@ public class BinaryWire implements Wire, InternalWireIn {
 
         @Override
         public WireOut type(CharSequence typeName) {
-            writeCode(TYPE_PREFIX).writeUTFΔ(typeName);
+            int typeId = ClassAliases.typeIdFor(typeName);
+            if (typeId == ClassAliases.NO_TYPE_ID)
+                writeCode(TYPE_PREFIX).writeUTFΔ(typeName);
+            else
+                writeCode(TYPE_ID).writeStopBit(typeId);
             return BinaryWire.this;
         }
 
@@ -815,6 +1150,7 @@ public class BinaryWire implements Wire, InternalWireIn {
             int fromEndOfCacheLine = (int) ((-bytes.position()) & 63);
             if (fromEndOfCacheLine < 5)
                 addPadding(fromEndOfCacheLine - 1);
+            bindings++;
             fixedInt64(value);
             return BinaryWire.this;
         }
@@ -824,6 +1160,7 @@ public class BinaryWire implements Wire, InternalWireIn {
             int fromEndOfCacheLine = (int) ((-bytes.position()) & 63);
             if (fromEndOfCacheLine < 9)
                 addPadding(fromEndOfCacheLine - 1);
+            bindings++;
             fixedInt64(value);
             return BinaryWire.this;
         }
@@ -854,12 +1191,36 @@ public class BinaryWire implements Wire, InternalWireIn {
 
         @Override
         public WireOut map(Map map) {
-            throw new UnsupportedOperationException("todo");
+            return writeMap(map, false);
         }
 
         @Override
         public WireOut typedMap(@NotNull Map<? extends WriteMarshallable, ? extends Marshallable> map) {
-            throw new UnsupportedOperationException("todo");
+            return writeMap(map, true);
+        }
+
+        /**
+         * A map is written as a sequence of the number of entries followed by each key and value, so it can be
+         * skipped or read as a sequence as well. A null map is written as NULL.
+         */
+        private WireOut writeMap(@Nullable Map<?, ?> map, boolean typed) {
+            if (map == null) {
+                writeCode(NULL);
+                return BinaryWire.this;
+            }
+            // the length is written as for any sequence, in as few bytes as this wire allows.
+            return sequence(out -> {
+                out.int32(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (typed) {
+                        out.typedMarshallable((WriteMarshallable) entry.getKey());
+                        out.typedMarshallable((WriteMarshallable) entry.getValue());
+                    } else {
+                        out.object(entry.getKey());
+                        out.object(entry.getValue());
+                    }
+                }
+            });
         }
 
         @Override
@@ -869,6 +1230,138 @@ public class BinaryWire implements Wire, InternalWireIn {
     }
 
     class BinaryValueOut extends FixedBinaryValueOut {
+        @Override
+        public ValueOut writeLength(long length) {
+            if (length < 0) {
+                throw new IllegalArgumentException("Invalid length " + length);
+            } else if (length < 1 << 8) {
+                writeCode(BYTES_LENGTH8);
+                bytes.writeUnsignedByte((int) length);
+
+            } else if (length < 1 << 16) {
+                writeCode(BYTES_LENGTH16);
+                bytes.writeUnsignedShort((int) length);
+            } else {
+                writeCode(BYTES_LENGTH32);
+                bytes.writeUnsignedInt(length);
+            }
+            return this;
+        }
+
+        @Override
+        public WireOut array(int[] array, int offset, int length) {
+            checkBounds(array.length, offset, length);
+            int min = 0, max = 0;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                min = Math.min(min, array[i]);
+                max = Math.max(max, array[i]);
+            }
+            if (min < 0 || max > 0xFFFF)
+                return super.array(array, offset, length);
+
+            writeCode(U16_ARRAY).writeStopBit(length);
+            for (int i = offset, end = offset + length; i < end; i++)
+                bytes.writeUnsignedShort(array[i]);
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut array(long[] array, int offset, int length) {
+            checkBounds(array.length, offset, length);
+            long min = 0, max = 0;
+            for (int i = offset, end = offset + length; i < end; i++) {
+                min = Math.min(min, array[i]);
+                max = Math.max(max, array[i]);
+            }
+            if (min >= 0 && max <= 0xFFFF) {
+                writeCode(U16_ARRAY).writeStopBit(length);
+                for (int i = offset, end = offset + length; i < end; i++)
+                    bytes.writeUnsignedShort((int) array[i]);
+
+            } else if (min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE) {
+                writeCode(I32_ARRAY).writeStopBit(length);
+                for (int i = offset, end = offset + length; i < end; i++)
+                    bytes.writeInt((int) array[i]);
+
+            } else {
+                super.array(array, offset, length);
+            }
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut fixed(long mantissa, int scale) {
+            // trailing zeros only make the mantissa longer.
+            if (mantissa == 0)
+                scale = 0;
+            while (scale > -6 && mantissa % 10 == 0 && mantissa != 0) {
+                mantissa /= 10;
+                scale--;
+            }
+            return super.fixed(mantissa, scale);
+        }
+
+        @Override
+        public WireOut sequence(Consumer<ValueOut> writer) {
+            int bindings0 = bindings;
+            long start = reserveLength();
+
+            writer.accept(this);
+
+            compactLength(start, bindings == bindings0);
+            return BinaryWire.this;
+        }
+
+        @Override
+        public WireOut marshallable(WriteMarshallable object) {
+            int bindings0 = bindings;
+            long start = reserveLength();
+
+            object.writeMarshallable(BinaryWire.this);
+
+            compactLength(start, bindings == bindings0);
+            return BinaryWire.this;
+        }
+
+        private long reserveLength() {
+            long start = bytes.position();
+            writeCode(BYTES_LENGTH32).writeInt(0);
+            return start;
+        }
+
+        /**
+         * The length isn't known until the value has been written, so a BYTES_LENGTH32 is reserved and if the length
+         * fits in fewer bytes, the value is moved back over the bytes not needed. Values written for binding have been
+         * aligned where they are, so they are never moved.
+         */
+        private void compactLength(long start, boolean canMove) {
+            long end = bytes.position();
+            long length = end - start - 5;
+            if (!canMove || length >= 1 << 16) {
+                bytes.writeOrderedInt(start + 1, Maths.toInt32(length, "Document length %,d out of 32-bit int range."));
+                return;
+            }
+            int shift;
+            if (length < 1 << 8) {
+                bytes.writeUnsignedByte(start, BYTES_LENGTH8);
+                bytes.writeUnsignedByte(start + 1, (int) length);
+                shift = 3;
+
+            } else {
+                bytes.writeUnsignedByte(start, BYTES_LENGTH16);
+                bytes.writeUnsignedShort(start + 1, (int) length);
+                shift = 2;
+            }
+            // copying forwards is safe as the value is moving backwards.
+            long from = start + 5, to = from - shift;
+            long i = 0;
+            for (; i < length - 7; i += 8)
+                bytes.writeLong(to + i, bytes.readLong(from + i));
+            for (; i < length; i++)
+                bytes.writeByte(to + i, bytes.readByte(from + i));
+            bytes.position(end - shift);
+        }
+
         @Override
         public WireOut int8(byte i8) {
             writeNumber(i8);
@@ -1047,6 +1540,8 @@ public class BinaryWire implements Wire, InternalWireIn {
     }
 
     class BinaryValueIn implements ValueIn {
+        final BytesTextView textView = new BytesTextView();
+
         @NotNull
         @Override
         public WireIn bool(@NotNull BooleanConsumer flag) {
@@ -1119,6 +1614,41 @@ public class BinaryWire implements Wire, InternalWireIn {
             }
         }
 
+        @Nullable
+        @Override
+        public CharSequence textView() {
+            consumeSpecial();
+            long position = bytes.position();
+            int code = peekCode();
+            long length;
+            if (code >= STRING_0 && code <= STRING_31) {
+                bytes.skip(1);
+                length = code & 0x1f;
+
+            } else if (code == STRING_ANY) {
+                bytes.skip(1);
+                length = bytes.readStopBit();
+                if (length < 0)
+                    return null;
+
+            } else {
+                return ValueIn.super.textView();
+            }
+            long start = bytes.position();
+            long end = start + length;
+            if (end > bytes.limit())
+                throw new BufferUnderflowException();
+            for (long i = start; i < end; i++) {
+                if (bytes.readByte(i) < 0) {
+                    // not ASCII so it has to be decoded.
+                    bytes.position(position);
+                    return ValueIn.super.textView();
+                }
+            }
+            bytes.position(end);
+            return textView.set(bytes, start, (int) length);
+        }
+
         @NotNull
         @Override
         public WireIn int8(@NotNull ByteConsumer i) {
@@ -1176,19 +1706,129 @@ public class BinaryWire implements Wire, InternalWireIn {
             return BinaryWire.this;
         }
 
+        @Override
+        public WireIn skipValue() {
+            consumeSpecial();
+            int code = peekCode();
+            if (code == END_OF_BYTES || code == FIELD_NUMBER || isFieldName(code))
+                return BinaryWire.this;
+            bytes.skip(1);
+            switch (code >> 4) {
+                case BinaryWireHighCode.NUM0:
+                case BinaryWireHighCode.NUM1:
+                case BinaryWireHighCode.NUM2:
+                case BinaryWireHighCode.NUM3:
+                case BinaryWireHighCode.NUM4:
+                case BinaryWireHighCode.NUM5:
+                case BinaryWireHighCode.NUM6:
+                case BinaryWireHighCode.NUM7:
+                    return BinaryWire.this;
+
+                case BinaryWireHighCode.STR0:
+                case BinaryWireHighCode.STR1:
+                    bytes.skip(code & 0x1f);
+                    return BinaryWire.this;
+            }
+            switch (code) {
+                case BYTES_LENGTH8:
+                    bytes.skip(bytes.readUnsignedByte());
+                    return BinaryWire.this;
+                case BYTES_LENGTH16:
+                    bytes.skip(bytes.readUnsignedShort());
+                    return BinaryWire.this;
+                case BYTES_LENGTH32:
+                    bytes.skip(bytes.readUnsignedInt());
+                    return BinaryWire.this;
+                case U8_ARRAY:
+                    // only written inside a length so it is the rest of the bytes.
+                    bytes.skip(bytes.remaining());
+                    return BinaryWire.this;
+                case U16_ARRAY:
+                    bytes.skip(bytes.readStopBit() << 1);
+                    return BinaryWire.this;
+                case I32_ARRAY:
+                    bytes.skip(bytes.readStopBit() << 2);
+                    return BinaryWire.this;
+                case I64_ARRAY:
+                    bytes.skip(BinaryLongArrayReference.peakLength(bytes, bytes.position()));
+                    return BinaryWire.this;
+                case F64_ARRAY:
+                    bytes.skip(bytes.readStopBit() << 3);
+                    return BinaryWire.this;
+
+                case INT8:
+                case UINT8:
+                    bytes.skip(1);
+                    return BinaryWire.this;
+                case INT16:
+                case UINT16:
+                    bytes.skip(2);
+                    return BinaryWire.this;
+                case INT32:
+                case UINT32:
+                case FLOAT32:
+                    bytes.skip(4);
+                    return BinaryWire.this;
+                case INT64:
+                case FLOAT64:
+                    bytes.skip(8);
+                    return BinaryWire.this;
+                case FIXED1:
+                case FIXED2:
+                case FIXED3:
+                case FIXED4:
+                case FIXED5:
+                case FIXED6:
+                case FIXED_6:
+                case FIXED_5:
+                case FIXED_4:
+                case FIXED_3:
+                case FIXED_2:
+                case FIXED_1:
+                case FIXED:
+                    bytes.readStopBit();
+                    return BinaryWire.this;
+                case UUID:
+                    bytes.skip(16);
+                    return BinaryWire.this;
+
+                case FALSE:
+                case TRUE:
+                case NULL:
+                    return BinaryWire.this;
+
+                case TYPE_PREFIX:
+                    skipUTF();
+                    // the value which has the type.
+                    skipValue();
+                    return BinaryWire.this;
+                case TYPE_ID:
+                    bytes.readStopBit();
+                    skipValue();
+                    return BinaryWire.this;
+                case STRING_ANY:
+                case TYPE_LITERAL:
+                case TIME:
+                case DATE:
+                case DATE_TIME:
+                case ZONED_DATE_TIME:
+                    skipUTF();
+                    return BinaryWire.this;
+            }
+            throw new UnsupportedOperationException(stringForCode(code));
+        }
+
         @Override
         public long readLength() {
             int code = peekCode();
             // TODO handle non length types as well.
             switch (code) {
-/*
                 case BYTES_LENGTH8:
                     bytes.skip(1);
                     return bytes.readUnsignedByte();
                 case BYTES_LENGTH16:
                     bytes.skip(1);
                     return bytes.readUnsignedShort();
-*/
                 case BYTES_LENGTH32:
                     bytes.skip(1);
                     return bytes.readUnsignedInt();
@@ -1381,6 +2021,82 @@ public class BinaryWire implements Wire, InternalWireIn {
             return BinaryWire.this;
         }
 
+        @Override
+        public int array(@NotNull int[] using) {
+            consumeSpecial();
+            int code = readCode();
+            int count;
+            switch (code) {
+                case U16_ARRAY:
+                    count = readArrayCount(bytes.readStopBit());
+                    for (int i = 0; i < count; i++) {
+                        int value = bytes.readUnsignedShort();
+                        if (i < using.length)
+                            using[i] = value;
+                    }
+                    return count;
+                case I32_ARRAY:
+                    count = readArrayCount(bytes.readStopBit());
+                    readArray(Accessor.intArrayAccessor(), using, count, using.length);
+                    return count;
+                default:
+                    cantRead(code);
+                    return 0;
+            }
+        }
+
+        @Override
+        public int array(@NotNull long[] using) {
+            consumeSpecial();
+            int code = readCode();
+            int count;
+            switch (code) {
+                case U16_ARRAY:
+                    count = readArrayCount(bytes.readStopBit());
+                    for (int i = 0; i < count; i++) {
+                        int value = bytes.readUnsignedShort();
+                        if (i < using.length)
+                            using[i] = value;
+                    }
+                    return count;
+                case I32_ARRAY:
+                    count = readArrayCount(bytes.readStopBit());
+                    for (int i = 0; i < count; i++) {
+                        int value = bytes.readInt();
+                        if (i < using.length)
+                            using[i] = value;
+                    }
+                    return count;
+                case I64_ARRAY:
+                    long header = bytes.readLong();
+                    count = readArrayCount(BinaryLongArrayReference.capacity(header));
+                    int shift = BinaryLongArrayReference.shift(header);
+                    if (shift == BinaryLongArrayReference.DENSE_SHIFT) {
+                        readArray(Accessor.longArrayAccessor(), using, count, using.length);
+                    } else {
+                        long start = bytes.position();
+                        for (int i = 0; i < count && i < using.length; i++)
+                            using[i] = bytes.readLong(start + ((long) i << shift));
+                        bytes.skip((long) count << shift);
+                    }
+                    return count;
+                default:
+                    cantRead(code);
+                    return 0;
+            }
+        }
+
+        @Override
+        public int array(@NotNull double[] using) {
+            consumeSpecial();
+            int code = readCode();
+            if (code != F64_ARRAY)
+                cantRead(code);
+            int count = readArrayCount(bytes.readStopBit());
+            readArray(Accessor.doubleArrayAccessor(), using, count, using.length);
+            return count;
+        }
+
         @Override
         public WireIn int64(LongValue value, @NotNull Consumer<LongValue> setter) {
             consumeSpecial();
@@ -1420,10 +2136,9 @@ public class BinaryWire implements Wire, InternalWireIn {
         @Override
         public WireIn sequence(@NotNull Consumer<ValueIn> reader) {
             consumeSpecial();
-            int code = readCode();
-            if (code != BYTES_LENGTH32)
-                cantRead(code);
-            final int length = bytes.readInt();
+            final long length = readLength();
+            if (length < 0)
+                cantRead(peekCode());
             long limit = bytes.readLimit();
             long limit2 = bytes.position() + length;
             bytes.limit(limit2);
@@ -1445,9 +2160,14 @@ public class BinaryWire implements Wire, InternalWireIn {
                 long limit = bytes.readLimit();
                 long limit2 = bytes.position() + length;
                 bytes.limit(limit2);
+                long scopeStart0 = scopeStart;
+                scopeStart = bytes.position();
+                depth++;
                 try {
                     return marshallableReader.apply(BinaryWire.this);
                 } finally {
+                    depth--;
+                    scopeStart = scopeStart0;
                     bytes.limit(limit);
                     bytes.position(limit2);
                 }
@@ -1463,6 +2183,10 @@ public class BinaryWire implements Wire, InternalWireIn {
             if (code == TYPE_PREFIX) {
                 bytes.readUTFΔ(s);
 
+            } else if (code == TYPE_ID) {
+                s.setLength(0);
+                s.append(nameForTypeId(bytes.readStopBit()));
+
             } else {
                 cantRead(code);
             }
@@ -1492,9 +2216,14 @@ public class BinaryWire implements Wire, InternalWireIn {
                 long limit = bytes.readLimit();
                 long limit2 = bytes.position() + length;
                 bytes.limit(limit2);
+                long scopeStart0 = scopeStart;
+                scopeStart = bytes.position();
+                depth++;
                 try {
                     object.readMarshallable(BinaryWire.this);
                 } finally {
+                    depth--;
+                    scopeStart = scopeStart0;
                     bytes.limit(limit);
                     bytes.position(limit2);
                 }
@@ -1504,14 +2233,64 @@ public class BinaryWire implements Wire, InternalWireIn {
             return BinaryWire.this;
         }
 
+        @Nullable
+        @Override
+        public <E> E object(@Nullable E using, @NotNull Class<E> clazz) {
+            consumeSpecial();
+            if (peekCode() == NULL) {
+                bytes.skip(1);
+                return null;
+            }
+            return ValueIn.super.object(using, clazz);
+        }
+
         @Override
         public <K extends ReadMarshallable, V extends ReadMarshallable> void typedMap(@NotNull Map<K, V> usingMap) {
-            throw new UnsupportedOperationException("todo");
+            readMap(null, null, usingMap);
         }
 
         @Override
         public <K, V> Map<K, V> map(@NotNull Class<K> kClazz, @NotNull Class<V> vClass, @NotNull Map<K, V> usingMap) {
-            throw new UnsupportedOperationException("todo");
+            return readMap(kClazz, vClass, usingMap);
+        }
+
+        /**
+         * Read the entries straight into usingMap, as typed marshallables if the classes are null.
+         */
+        @Nullable
+        private <K, V> Map<K, V> readMap(@Nullable Class<K> kClazz, @Nullable Class<V> vClass, @NotNull Map<K, V> usingMap) {
+            consumeSpecial();
+            usingMap.clear();
+            if (peekCode() == NULL) {
+                bytes.skip(1);
+                return null;
+            }
+            long length = readLength();
+            if (length < 0)
+                cantRead(peekCode());
+            long limit = bytes.readLimit();
+            long limit2 = bytes.position() + length;
+            bytes.limit(limit2);
+            try {
+                int count = int32();
+                for (int i = 0; i < count; i++) {
+                    if (kClazz == null) {
+                        @SuppressWarnings("unchecked")
+                        final K k = (K) typedMarshallable();
+                        @SuppressWarnings("unchecked")
+                        final V v = (V) typedMarshallable();
+                        usingMap.put(k, v);
+                    } else {
+                        final K k = object(kClazz);
+                        final V v = object(vClass);
+                        usingMap.put(k, v);
+                    }
+                }
+            } finally {
+                bytes.limit(limit);
+                bytes.position(limit2);
+            }
+            return usingMap;
         }
 
 
@@ -1616,23 +2395,28 @@ public class BinaryWire implements Wire, InternalWireIn {
         }
 
         @Override
-        public double float64() {
+        public long fixed(int scale) {
+            consumeSpecial();
             int code = readCode();
-            final double value = isText(code) ? readTextAsLong() : readFloat0(code);
-
-            if (value > Double.MAX_VALUE || value < Double.MIN_VALUE)
-                throw new IllegalStateException();
+            if (isFixed(code))
+                return Decimals.rescale(bytes.readStopBit(), fixedScale(code), scale);
+            return Decimals.rescale(readInt0(code), 0, scale);
+        }
 
-            return value;
+        @Override
+        public double float64() {
+            consumeSpecial();
+            int code = readCode();
+            return isText(code) ? readTextAsLong() : readFloat(code);
         }
 
         @Override
         public float float32() {
             consumeSpecial();
             int code = readCode();
-            final double value = isText(code) ? readTextAsLong() : readFloat0(code);
+            final double value = isText(code) ? readTextAsLong() : readFloat(code);
 
-            if (value > Float.MAX_VALUE || value < Float.MIN_VALUE)
+            if (value > Float.MAX_VALUE || value < -Float.MAX_VALUE)
                 throw new IllegalStateException();
 
             return (float) value;
@@ -8,30 +8,36 @@ import java.lang.reflect.Field;
 enum BinaryWireCode {
     ;
     // sequence of length 0 - 255 bytes
-//        static final int BYTES_LENGTH8 = 0x80;
+    static final int BYTES_LENGTH8 = 0x80;
     // sequence of length 0 - 2^16-1 bytes
-//        static final int BYTES_LENGTH16 = 0x81;
+    static final int BYTES_LENGTH16 = 0x81;
     // sequence of length 0 - 2^32-1
     static final int BYTES_LENGTH32 = 0x82;
     // sequence of length 0 - 255
 //        static final int BYTES_LENGTH64 = 0x83;
 
+    // an array of doubles, stop bit count then the values
+    static final int F64_ARRAY = 0x89;
     // an array of unsigned bytes
     static final int U8_ARRAY = 0x8A;
-    //        static final int U16_ARRAY = 0x8B;
-//        static final int I32_ARRAY = 0x8C;
+    // an array of unsigned shorts, stop bit count then the values
+    static final int U16_ARRAY = 0x8B;
+    // an array of ints, stop bit count then the values
+    static final int I32_ARRAY = 0x8C;
+    // an array of longs, 8 byte capacity then the values
     static final int I64_ARRAY = 0x8D;
     static final int PADDING32 = 0x8E;
     static final int PADDING = 0x8F;
 
     static final int FLOAT32 = 0x90;
     static final int FLOAT64 = 0x91;
-//        static final int FIXED1 = 0x92;
-//        static final int FIXED2 = 0x93;
-//        static final int FIXED3 = 0x94;
-//        static final int FIXED4 = 0x95;
-//        static final int FIXED5 = 0x96;
-//        static final int FIXED6 = 0x97;
+    // a stop bit mantissa with 1 to 6 decimal places
+    static final int FIXED1 = 0x92;
+    static final int FIXED2 = 0x93;
+    static final int FIXED3 = 0x94;
+    static final int FIXED4 = 0x95;
+    static final int FIXED5 = 0x96;
+    static final int FIXED6 = 0x97;
     // 0x9A - 0x9F
 
     static final int UUID = 0xA0;
@@ -42,13 +48,15 @@ enum BinaryWireCode {
     static final int INT16 = 0xA5;
     static final int INT32 = 0xA6;
     static final int INT64 = 0xA7;
-//    static final int FIXED_6 = 0xA9;
-//    static final int FIXED_5 = 0xAA;
-//    static final int FIXED_4 = 0xAB;
-//    static final int FIXED_3 = 0xAC;
-//    static final int FIXED_2 = 0xAD;
-//    static final int FIXED_1 = 0xAE;
-//    static final int FIXED = 0xAF;
+    // a stop bit mantissa multiplied by 10^6 to 10^1
+    static final int FIXED_6 = 0xA9;
+    static final int FIXED_5 = 0xAA;
+    static final int FIXED_4 = 0xAB;
+    static final int FIXED_3 = 0xAC;
+    static final int FIXED_2 = 0xAD;
+    static final int FIXED_1 = 0xAE;
+    // a stop bit mantissa with no decimal places
+    static final int FIXED = 0xAF;
 
     static final int FALSE = 0xB0;
     static final int TRUE = 0xB1;
@@ -63,6 +71,8 @@ enum BinaryWireCode {
     static final int FIELD_NUMBER = 0xBA;
     static final int NULL = 0xBB;
     static final int TYPE_LITERAL = 0xBC;
+    // a type id added to ClassAliases as a stop bit number, in place of a TYPE_PREFIX.
+    static final int TYPE_ID = 0xBD;
     static final int COMMENT = 0xBE;
     static final int HINT = 0xBF;
 
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A reusable CharSequence over ASCII text where it was written, so a value can be compared or hashed without copying
+ * it. It is only valid until the bytes it points to are read past or overwritten.
+ * <p>
+ * It hashes as a String with the same text and is equal to any CharSequence with the same text, so it can be used
+ * to look up a map with String keys. A String is never equal to it in turn.
+ */
+class BytesTextView implements CharSequence {
+    private BytesStore<?, ?> bytes;
+    private long offset;
+    private int length;
+
+    BytesTextView set(@NotNull BytesStore<?, ?> bytes, long offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length)
+            throw new StringIndexOutOfBoundsException(index);
+        return (char) bytes.readByte(offset + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public int hashCode() {
+        // as String.hashCode(), each ASCII byte is its char.
+        int h = 0;
+        for (int i = 0; i < length; i++)
+            h = 31 * h + bytes.readByte(offset + i);
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CharSequence && StringUtils.isEqual(this, (CharSequence) o);
+    }
+
+    @NotNull
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++)
+            chars[i] = (char) bytes.readByte(offset + i);
+        return new String(chars);
+    }
+}
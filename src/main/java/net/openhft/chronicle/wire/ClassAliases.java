@@ -0,0 +1,215 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short aliases for the classes of typed marshallables, and a cache of the classes looked up by name.
+ * <p>
+ * An alias is written in place of the class name, e.g. {@code !Order} instead of {@code !com.example.trading.Order},
+ * and a class with a type id is written by a BinaryWire as that number. Aliases and type ids have to be added the
+ * same way by both the writer and the reader before they are used.
+ * <p>
+ * Lookups by name compare the CharSequence read with the names already seen so they don't create a String or take
+ * the class loader's lock once a class has been loaded.
+ */
+public enum ClassAliases {
+    ;
+    static final int NO_TYPE_ID = -1;
+
+    // open addressed on the hash of the name, copied and replaced when added to so lookups don't lock.
+    private static volatile Entry[] entries = new Entry[64];
+    private static int count = 0;
+    private static volatile String[] namesForTypeId = {};
+    private static final Map<Class<?>, String> NAME_FOR_CLASS = new ConcurrentHashMap<>();
+
+    /**
+     * Add names which are read as this class. The first name is written for this class from now on.
+     *
+     * @throws IllegalArgumentException if a name is already used for another class.
+     */
+    public static synchronized void addAlias(@NotNull Class<?> clazz, @NotNull String... names) {
+        if (names.length == 0)
+            throw new IllegalArgumentException("No alias given for " + clazz.getName());
+        for (String name : names) {
+            Entry entry = find(name);
+            if (entry != null && entry.clazz != clazz)
+                throw new IllegalArgumentException(name + " is already an alias for " + entry.clazz.getName());
+        }
+        for (String name : names)
+            add(name, clazz);
+        NAME_FOR_CLASS.put(clazz, names[0]);
+        // the class name is still read as this class.
+        add(clazz.getName(), clazz);
+    }
+
+    /**
+     * Give a class a number which a BinaryWire writes in place of its name, in a few bytes.
+     *
+     * @throws IllegalArgumentException if the type id is negative or already used for another class.
+     */
+    public static synchronized void addTypeId(@NotNull Class<?> clazz, int typeId) {
+        if (typeId < 0)
+            throw new IllegalArgumentException("typeId " + typeId + " must not be negative");
+        String[] names = namesForTypeId;
+        if (typeId < names.length && names[typeId] != null) {
+            if (find(names[typeId]).clazz == clazz)
+                return;
+            throw new IllegalArgumentException("typeId " + typeId + " is already used for " + names[typeId]);
+        }
+        if (typeIdFor(nameFor(clazz)) != NO_TYPE_ID)
+            throw new IllegalArgumentException(clazz.getName() + " already has a typeId");
+        if (typeId >= names.length)
+            names = Arrays.copyOf(names, Math.max(typeId + 1, names.length * 2));
+        else
+            names = names.clone();
+        String name = nameFor(clazz);
+        names[typeId] = name;
+        if (find(name) == null)
+            add(name, clazz);
+        // replace the entries for this class with ones which have the type id.
+        Entry[] entries2 = entries.clone();
+        for (int i = 0; i < entries2.length; i++) {
+            Entry entry = entries2[i];
+            if (entry != null && entry.clazz == clazz)
+                entries2[i] = new Entry(entry.name, clazz, typeId);
+        }
+        entries = entries2;
+        namesForTypeId = names;
+    }
+
+    /**
+     * @return the class for this alias or class name, loading it the first time.
+     */
+    @NotNull
+    public static Class<?> forName(@NotNull CharSequence name) throws ClassNotFoundException {
+        Entry entry = find(name);
+        if (entry != null)
+            return entry.clazz;
+        return load(name.toString());
+    }
+
+    private static synchronized Class<?> load(@NotNull String name) throws ClassNotFoundException {
+        Entry entry = find(name);
+        if (entry != null)
+            return entry.clazz;
+        Class<?> clazz = Class.forName(name);
+        add(name, clazz);
+        return clazz;
+    }
+
+    /**
+     * @return the name to write for this class, its alias if it has one.
+     */
+    @NotNull
+    public static String nameFor(@NotNull Class<?> clazz) {
+        String name = NAME_FOR_CLASS.get(clazz);
+        return name == null ? clazz.getName() : name;
+    }
+
+    /**
+     * @return the type id of the class with this name, or NO_TYPE_ID.
+     */
+    static int typeIdFor(@NotNull CharSequence name) {
+        if (namesForTypeId.length == 0)
+            return NO_TYPE_ID;
+        Entry entry = find(name);
+        return entry == null ? NO_TYPE_ID : entry.typeId;
+    }
+
+    /**
+     * @return the name of the class with this type id, or null if there isn't one.
+     */
+    @Nullable
+    static String nameForTypeId(int typeId) {
+        String[] names = namesForTypeId;
+        return typeId >= 0 && typeId < names.length ? names[typeId] : null;
+    }
+
+    private static int hash(@NotNull CharSequence name) {
+        // the length and the last few characters, where names in the same package differ.
+        int length = name.length();
+        int h = length;
+        for (int i = Math.max(0, length - 16); i < length; i++)
+            h = 31 * h + name.charAt(i);
+        return h ^ (h >>> 16);
+    }
+
+    @Nullable
+    private static Entry find(@NotNull CharSequence name) {
+        Entry[] entries = ClassAliases.entries;
+        int mask = entries.length - 1;
+        for (int i = hash(name) & mask; ; i = (i + 1) & mask) {
+            Entry entry = entries[i];
+            if (entry == null)
+                return null;
+            if (StringUtils.isEqual(entry.name, name))
+                return entry;
+        }
+    }
+
+    // called holding the lock on ClassAliases.
+    private static void add(@NotNull String name, @NotNull Class<?> clazz) {
+        Entry[] entries2 = entries;
+        int length = (count + 1) * 2 > entries2.length ? entries2.length * 2 : entries2.length;
+        Entry[] copy = new Entry[length];
+        int count2 = 0;
+        int typeId = NO_TYPE_ID;
+        for (Entry entry : entries2) {
+            if (entry == null)
+                continue;
+            // every name for a class has its type id.
+            if (entry.clazz == clazz && entry.typeId != NO_TYPE_ID)
+                typeId = entry.typeId;
+            if (!entry.name.equals(name)) {
+                insert(copy, entry);
+                count2++;
+            }
+        }
+        insert(copy, new Entry(name, clazz, typeId));
+        count = count2 + 1;
+        entries = copy;
+    }
+
+    private static void insert(@NotNull Entry[] entries, @NotNull Entry entry) {
+        int mask = entries.length - 1;
+        int i = hash(entry.name) & mask;
+        while (entries[i] != null)
+            i = (i + 1) & mask;
+        entries[i] = entry;
+    }
+
+    private static final class Entry {
+        final String name;
+        final Class<?> clazz;
+        final int typeId;
+
+        Entry(String name, Class<?> clazz, int typeId) {
+            this.name = name;
+            this.clazz = clazz;
+            this.typeId = typeId;
+        }
+    }
+}
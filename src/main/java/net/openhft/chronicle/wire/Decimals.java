@@ -0,0 +1,508 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.nio.ByteOrder;
+
+/**
+ * Decimals held as a long mantissa and a scale, the number of decimal places, i.e. mantissa / 10^scale. A negative
+ * scale is a multiple of a power of ten.
+ */
+enum Decimals {
+    ;
+    private static final long[] TENS = new long[19];
+    // the powers of ten which are exact as a double.
+    private static final double[] POWERS = new double[23];
+    private static final double TWO_53 = 1L << 53;
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    // the powers of five which fit in a long.
+    private static final long[] FIVES = new long[28];
+    // below MIN_POWER a decimal rounds to zero, above MAX_POWER to infinity.
+    private static final int MIN_POWER = -342;
+    private static final int MAX_POWER = 308;
+
+    static {
+        TENS[0] = 1;
+        for (int i = 1; i < TENS.length; i++)
+            TENS[i] = TENS[i - 1] * 10;
+        POWERS[0] = 1;
+        for (int i = 1; i < POWERS.length; i++)
+            POWERS[i] = POWERS[i - 1] * 10;
+        FIVES[0] = 1;
+        for (int i = 1; i < FIVES.length; i++)
+            FIVES[i] = FIVES[i - 1] * 5;
+    }
+
+    /**
+     * @return the mantissa for the same value with toScale decimal places.
+     * @throws ArithmeticException if the value has more than toScale decimal places or doesn't fit in a long.
+     */
+    static long rescale(long mantissa, int scale, int toScale) {
+        if (scale == toScale || mantissa == 0)
+            return mantissa;
+        if (scale < toScale) {
+            int diff = toScale - scale;
+            if (diff >= TENS.length)
+                throw new ArithmeticException("Overflow rescaling " + mantissa + " from " + scale + " to " + toScale + " decimal places");
+            long ten = TENS[diff];
+            long result = mantissa * ten;
+            if (result / ten != mantissa)
+                throw new ArithmeticException("Overflow rescaling " + mantissa + " from " + scale + " to " + toScale + " decimal places");
+            return result;
+        }
+        int diff = scale - toScale;
+        if (diff >= TENS.length || mantissa % TENS[diff] != 0)
+            throw new ArithmeticException("Value " + mantissa + " with " + scale + " decimal places has more than " + toScale);
+        return mantissa / TENS[diff];
+    }
+
+    static void append(@NotNull Bytes bytes, long mantissa, int scale) {
+        if (scale <= 0) {
+            appendLong(bytes, mantissa);
+            if (mantissa != 0)
+                for (int i = scale; i < 0; i++)
+                    bytes.append('0');
+            return;
+        }
+        if (scale >= TENS.length && mantissa == Long.MIN_VALUE)
+            throw new IllegalArgumentException("Too many decimal places " + scale);
+        // a long has at most 19 digits, so with more decimal places it is all fraction.
+        long integer = scale < TENS.length ? mantissa / TENS[scale] : 0;
+        long fraction = scale < TENS.length ? mantissa % TENS[scale] : mantissa;
+        if (mantissa < 0) {
+            bytes.append('-');
+            integer = -integer;
+            fraction = -fraction;
+        }
+        appendLong(bytes, integer);
+        bytes.append('.');
+        for (int i = digits(fraction); i < scale; i++)
+            bytes.append('0');
+        appendLong(bytes, fraction);
+    }
+
+    /**
+     * Append a long as text, writing up to eight digits at a time.
+     */
+    static void appendLong(@NotNull Bytes bytes, long value) {
+        if (!LITTLE_ENDIAN || value == Long.MIN_VALUE || bytes.remaining() < 32) {
+            bytes.append(value);
+            return;
+        }
+        if (value < 0) {
+            bytes.append('-');
+            value = -value;
+        }
+        if (value < TENS[8]) {
+            appendDigits(bytes, value, digits(value));
+
+        } else if (value < TENS[16]) {
+            long high = value / TENS[8];
+            appendDigits(bytes, high, digits(high));
+            appendDigits(bytes, value - high * TENS[8], 8);
+
+        } else {
+            long high = value / TENS[16];
+            long low = value - high * TENS[16];
+            long middle = low / TENS[8];
+            appendDigits(bytes, high, digits(high));
+            appendDigits(bytes, middle, 8);
+            appendDigits(bytes, low - middle * TENS[8], 8);
+        }
+    }
+
+    // the number of digits in a positive value
+    private static int digits(long value) {
+        int digits = 1;
+        while (digits < TENS.length && value >= TENS[digits])
+            digits++;
+        return digits;
+    }
+
+    // write the last n of the eight digits as one long, then step back over any bytes past them.
+    private static void appendDigits(Bytes bytes, long value, int n) {
+        long position = bytes.position();
+        bytes.writeLong(eightDigits(value) >>> ((8 - n) << 3));
+        bytes.position(position + n);
+    }
+
+    /**
+     * @return the eight ASCII digits of a value less than 10^8, first digit in the lowest byte.
+     */
+    static long eightDigits(long value) {
+        long high = value / 10000;
+        long x = high | ((value - high * 10000) << 32);
+        // divide each 32-bit lane by 100, then each 16-bit lane by 10, keeping the remainders in the next lane up.
+        long hundreds = ((x * 10486) >>> 20) & 0x0000007F0000007FL;
+        x = hundreds | ((x - hundreds * 100) << 16);
+        long tens = ((x * 103) >>> 10) & 0x000F000F000F000FL;
+        x = tens | ((x - tens * 10) << 8);
+        return x | 0x3030303030303030L;
+    }
+
+    static boolean isEightDigits(long word) {
+        return ((word & 0xF0F0F0F0F0F0F0F0L)
+                | (((word + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) == 0x3333333333333333L;
+    }
+
+    /**
+     * @return the value of eight ASCII digits, first digit in the lowest byte.
+     */
+    static long parseEightDigits(long word) {
+        word = ((word & 0x0F0F0F0F0F0F0F0FL) * 2561) >>> 8;
+        word = ((word & 0x00FF00FF00FF00FFL) * 6553601) >>> 16;
+        return ((word & 0x0000FFFF0000FFFFL) * 42949672960001L) >>> 32;
+    }
+
+    /**
+     * Parse a long, eight digits at a time where possible, stopping before the first character which is not part of
+     * it.
+     *
+     * @throws ArithmeticException if it doesn't fit in a long.
+     */
+    static long parseLong(@NotNull Bytes bytes) {
+        boolean negative = false;
+        int ch = bytes.peekUnsignedByte();
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            bytes.skip(1);
+        }
+        // accumulate as a negative number so Long.MIN_VALUE can be parsed.
+        long value = 0;
+        if (LITTLE_ENDIAN) {
+            // at most 16 digits this way so it can't overflow.
+            for (int i = 0; i < 2 && bytes.remaining() >= 8; i++) {
+                long word = bytes.readLong(bytes.position());
+                if (!isEightDigits(word))
+                    break;
+                value = value * TENS[8] - parseEightDigits(word);
+                bytes.skip(8);
+            }
+        }
+        for (; ; bytes.skip(1)) {
+            ch = bytes.peekUnsignedByte();
+            if (ch < '0' || ch > '9')
+                break;
+            value = Math.subtractExact(Math.multiplyExact(value, 10L), ch - '0');
+        }
+        return negative ? value : Math.negateExact(value);
+    }
+
+    /**
+     * Append the shortest decimal which reads back as the same double, for values less than 2^53 with no more than 27
+     * decimal places, otherwise as Double.toString() does.
+     */
+    static void appendDouble(@NotNull Bytes bytes, double d) {
+        double abs = Math.abs(d);
+        if (abs < TWO_53) {
+            int scale = 0;
+            // most values are short decimals, which can be found with a long and an exact power of ten.
+            for (; scale < TENS.length; scale++) {
+                double scaled = abs * POWERS[scale];
+                if (scaled >= TWO_53)
+                    break;
+                long mantissa = Math.round(scaled);
+                // both are exact so this is the same rounding as parsing the decimal.
+                if (mantissa / POWERS[scale] == abs) {
+                    appendDouble(bytes, d, mantissa, scale);
+                    return;
+                }
+            }
+            if (appendExact(bytes, d, Math.max(scale - 1, 0)))
+                return;
+        }
+        // NaN, Infinity, very large or small values.
+        bytes.append(Double.toString(d));
+    }
+
+    private static void appendDouble(Bytes bytes, double d, long mantissa, int scale) {
+        if (Double.doubleToRawLongBits(d) < 0)
+            bytes.append('-');
+        append(bytes, mantissa, scale);
+    }
+
+    /**
+     * Find the fewest decimal places from fromScale which give a decimal between the doubles either side of d, using
+     * the exact binary value of d and its neighbours, for values which need 16 or 17 significant digits.
+     *
+     * @return false if it needs more than 27 decimal places.
+     */
+    private static boolean appendExact(Bytes bytes, double d, int fromScale) {
+        long bits = Double.doubleToRawLongBits(d);
+        int exponent = (int) (bits >>> 52) & 0x7FF;
+        long fraction = bits & ((1L << 52) - 1);
+        long m2 = exponent == 0 ? fraction : fraction | (1L << 52);
+        // d is mid * 2^e2 and the halfway points to its neighbours are lower and upper * 2^e2
+        int e2 = (exponent == 0 ? 1 : exponent) - 1075 - 2;
+        long mid = m2 << 2;
+        long upper = mid + 2;
+        long lower = mid - (fraction == 0 && exponent > 1 ? 1 : 2);
+        double abs = Math.abs(d);
+        for (int scale = fromScale; scale < FIVES.length; scale++) {
+            double ten = scale < POWERS.length ? POWERS[scale] : POWERS[22] * POWERS[scale - 22];
+            if (abs * ten >= 1e18)
+                break;
+            // x * 10^scale = x * 5^scale * 2^scale
+            long five = FIVES[scale];
+            int shift = e2 + scale;
+            // the halfway points might round either way, so exclude them.
+            long low = scaled(lower, five, shift, 0) + 1;
+            long high = scaled(upper, five, shift, -1);
+            if (low <= high) {
+                long mantissa = shift >= 0
+                        ? scaled(mid, five, shift, 0)
+                        : (scaled(mid, five, shift + 1, 0) + 1) >> 1;
+                appendDouble(bytes, d, Math.max(low, Math.min(high, mantissa)), scale);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return floor((c * five + add) * 2^shift) for an add of 0 or -1, where the result fits in a long.
+     */
+    private static long scaled(long c, long five, int shift, long add) {
+        long low = c * five;
+        if (shift >= 0)
+            return (low << shift) + add;
+        long high = multiplyHigh(c, five);
+        long sum = low + add;
+        if (add < 0 && Long.compareUnsigned(sum, low) > 0)
+            high--;
+        int n = -shift;
+        if (n >= 128)
+            return 0;
+        if (n >= 64)
+            return high >>> (n - 64);
+        return (sum >>> n) | (high << (64 - n));
+    }
+
+    /**
+     * @return the high 64 bits of the unsigned 128-bit product.
+     */
+    static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * Parse a double such as -1.25 or 1.0E-10, stopping before the first character which is not part of it.
+     * <p>
+     * Values with up to 16 significant digits and an exponent of at most 22 are calculated exactly from a long and a
+     * power of ten, up to 18 significant digits with the Eisel-Lemire algorithm, anything longer is left to
+     * Double.parseDouble().
+     */
+    static double parseDouble(@NotNull Bytes bytes) {
+        long start = bytes.position();
+        boolean negative = false;
+        int ch = bytes.peekUnsignedByte();
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            bytes.skip(1);
+            ch = bytes.peekUnsignedByte();
+        }
+        if (ch == 'N' && skipWord(bytes, "NaN"))
+            return Double.NaN;
+        if (ch == 'I' && skipWord(bytes, "Infinity"))
+            return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        long mantissa = 0;
+        int exponent = 0;
+        boolean point = false;
+        boolean exact = true;
+        for (; ; bytes.skip(1)) {
+            ch = bytes.peekUnsignedByte();
+            if (ch >= '0' && ch <= '9') {
+                if (mantissa < TENS[17]) {
+                    mantissa = mantissa * 10 + ch - '0';
+                    if (point)
+                        exponent--;
+                } else {
+                    exact &= ch == '0';
+                    if (!point)
+                        exponent++;
+                }
+            } else if (ch == '.' && !point) {
+                point = true;
+
+            } else {
+                break;
+            }
+        }
+        if (ch == 'e' || ch == 'E') {
+            bytes.skip(1);
+            boolean negativeExponent = false;
+            ch = bytes.peekUnsignedByte();
+            if (ch == '-' || ch == '+') {
+                negativeExponent = ch == '-';
+                bytes.skip(1);
+            }
+            int e = 0;
+            for (; ; bytes.skip(1)) {
+                ch = bytes.peekUnsignedByte();
+                if (ch < '0' || ch > '9')
+                    break;
+                if (e < 100000)
+                    e = e * 10 + ch - '0';
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+        if (exact && mantissa <= TWO_53 && exponent >= -22 && exponent <= 22) {
+            double d = exponent < 0 ? mantissa / POWERS[-exponent] : mantissa * POWERS[exponent];
+            return negative ? -d : d;
+        }
+        if (exact) {
+            double d = mantissa == 0 ? 0.0 : toDouble(mantissa, exponent);
+            return negative ? -d : d;
+        }
+        // rounding this correctly needs more digits than a long holds.
+        StringBuilder sb = new StringBuilder();
+        for (long i = start; i < bytes.position(); i++)
+            sb.append((char) bytes.readByte(i));
+        return Double.parseDouble(sb.toString());
+    }
+
+    /**
+     * Eisel-Lemire: multiply by a 128-bit approximation of 5^q, which is enough to round correctly as w is exact.
+     *
+     * @return w * 10^q correctly rounded, for w > 0
+     */
+    static double toDouble(long w, int q) {
+        if (q < MIN_POWER)
+            return 0.0;
+        if (q > MAX_POWER)
+            return Double.POSITIVE_INFINITY;
+        int zeros = Long.numberOfLeadingZeros(w);
+        w <<= zeros;
+        int index = 2 * (q - MIN_POWER);
+        long[] powers = FivePowers.TABLE;
+        long high = multiplyHigh(w, powers[index]);
+        long low = w * powers[index];
+        // only need the low half of the power if the bits below the 55 kept could carry into them.
+        if ((high & 0x1FF) == 0x1FF) {
+            long second = multiplyHigh(w, powers[index + 1]);
+            low += second;
+            if (Long.compareUnsigned(second, low) > 0)
+                high++;
+        }
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 9;
+        long mantissa = high >>> shift;
+        int power2 = (int) ((217706L * q) >> 16) + 63 + upperBit - zeros + 1023;
+        if (power2 <= 0) {
+            // subnormal
+            if (-power2 + 1 >= 64)
+                return 0.0;
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << 52) ? 0 : 1;
+            return Double.longBitsToDouble(((long) power2 << 52) | mantissa);
+        }
+        // exactly halfway rounds to even.
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high)
+            mantissa &= ~1L;
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF)
+            return Double.POSITIVE_INFINITY;
+        return Double.longBitsToDouble(((long) power2 << 52) | mantissa);
+    }
+
+    private static boolean skipWord(Bytes bytes, String word) {
+        if (bytes.remaining() < word.length())
+            return false;
+        for (int i = 0; i < word.length(); i++)
+            if (bytes.readByte(bytes.position() + i) != word.charAt(i))
+                return false;
+        bytes.skip(word.length());
+        return true;
+    }
+
+    /**
+     * Parse a decimal such as -12.340 without going through a double, stopping before the first character which is not
+     * part of it.
+     *
+     * @return the mantissa with scale decimal places.
+     */
+    static long parse(@NotNull Bytes bytes, int scale) {
+        boolean negative = false;
+        int ch = bytes.peekUnsignedByte();
+        if (ch == '-' || ch == '+') {
+            negative = ch == '-';
+            bytes.skip(1);
+        }
+        // accumulate as a negative number so Long.MIN_VALUE can be parsed.
+        long mantissa = 0;
+        int decimals = -1;
+        for (; ; bytes.skip(1)) {
+            ch = bytes.peekUnsignedByte();
+            if (ch >= '0' && ch <= '9') {
+                mantissa = Math.subtractExact(Math.multiplyExact(mantissa, 10L), ch - '0');
+                if (decimals >= 0)
+                    decimals++;
+
+            } else if (ch == '.' && decimals < 0) {
+                decimals = 0;
+
+            } else {
+                break;
+            }
+        }
+        return rescale(negative ? mantissa : Math.negateExact(mantissa), Math.max(decimals, 0), scale);
+    }
+
+    // only built if a long decimal is parsed.
+    static final class FivePowers {
+        // 5^q for q from MIN_POWER to MAX_POWER to 128 bits with the top bit set, as the high then the low 64 bits.
+        static final long[] TABLE = new long[2 * (MAX_POWER - MIN_POWER + 1)];
+
+        static {
+            BigInteger five = BigInteger.valueOf(5);
+            for (int q = MIN_POWER; q <= MAX_POWER; q++) {
+                BigInteger power = five.pow(Math.abs(q));
+                BigInteger c;
+                if (q >= 0) {
+                    c = power;
+                } else {
+                    // rounded up, with more bits to start with when 5^-q is longer than the 128 kept.
+                    int z = power.bitLength();
+                    c = BigInteger.ONE.shiftLeft(q >= -27 ? z + 127 : 2 * z + 128).divide(power).add(BigInteger.ONE);
+                }
+                int shift = c.bitLength() - 128;
+                c = shift > 0 ? c.shiftRight(shift) : c.shiftLeft(-shift);
+                int index = 2 * (q - MIN_POWER);
+                TABLE[index] = c.shiftRight(64).longValue();
+                TABLE[index + 1] = c.longValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Byteable;
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+
+/*
+The format of a document index in binary is
+spacing: long, documents: long, scanned: long, positions: the BinaryLongArrayReference layout
+where positions holds the header position of every spacing'th data document, documents is the number of data
+documents indexed so far and scanned is the position of the header after the last one.
+ */
+
+/**
+ * A sparse index of the data documents in a buffer, such as a capture written with Wires.writeData, to find the N-th
+ * document by walking at most spacing - 1 headers from the nearest indexed position.
+ * <p>
+ * The index is bound like the value references, e.g. to a memory mapped side file, and records how far it has
+ * scanned, so update() carries on from where it stopped. One thread may update it while others look up positions.
+ */
+public class DocumentIndex implements Byteable {
+    private static final long SPACING = 0;
+    private static final long DOCUMENTS = 8;
+    private static final long SCANNED = 16;
+    private static final long POSITIONS = 24;
+
+    private final BinaryLongArrayReference positions = new BinaryLongArrayReference();
+    private BytesStore bytes;
+    private long offset;
+    private long length;
+    private int spacing;
+
+    public static void write(Bytes bytes, int spacing, long capacity) {
+        if (spacing <= 0)
+            throw new IllegalArgumentException("spacing: " + spacing);
+        bytes.writeLong(spacing);
+        bytes.writeLong(0);
+        bytes.writeLong(0);
+        BinaryLongArrayReference.write(bytes, capacity);
+    }
+
+    public static long peakLength(BytesStore bytes, long offset) {
+        return POSITIONS + BinaryLongArrayReference.peakLength(bytes, offset + POSITIONS);
+    }
+
+    /**
+     * @return the size of an index able to hold capacity positions.
+     */
+    public static long sizeInBytes(long capacity) {
+        return POSITIONS + 8 + (capacity << 3);
+    }
+
+    @Override
+    public void bytesStore(BytesStore bytes, long offset, long length) {
+        if (length != peakLength(bytes, offset))
+            throw new IllegalArgumentException(length + " != " + peakLength(bytes, offset));
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.spacing = (int) bytes.readLong(offset + SPACING);
+        positions.bytesStore(bytes, offset + POSITIONS, length - POSITIONS);
+    }
+
+    @Override
+    public BytesStore bytesStore() {
+        return bytes;
+    }
+
+    @Override
+    public long offset() {
+        return offset;
+    }
+
+    @Override
+    public long maxSize() {
+        return length;
+    }
+
+    public int spacing() {
+        return spacing;
+    }
+
+    /**
+     * @return the number of data documents indexed.
+     */
+    public long documents() {
+        return bytes.readVolatileLong(offset + DOCUMENTS);
+    }
+
+    /**
+     * Index the documents which are ready after the last one indexed, up to limit.
+     *
+     * @return the number of data documents indexed.
+     * @throws IllegalStateException if the index is full.
+     */
+    public long update(@NotNull BytesStore documents, long limit) {
+        long count = bytes.readLong(offset + DOCUMENTS);
+        long position = bytes.readLong(offset + SCANNED);
+        long capacity = positions.getCapacity();
+        try {
+            while (position + 4 <= limit) {
+                int header = documents.readVolatileInt(position);
+                if (header == 0 || !Wires.isReady(header))
+                    break;
+                if (Wires.isData(header)) {
+                    if (count % spacing == 0) {
+                        long entry = count / spacing;
+                        if (entry >= capacity)
+                            throw new IllegalStateException("Index full after " + count + " documents");
+                        positions.setOrderedValueAt(entry, position);
+                    }
+                    count++;
+                }
+                position += 4 + Wires.lengthOf(header);
+            }
+        } finally {
+            bytes.writeLong(offset + SCANNED, position);
+            bytes.writeOrderedLong(offset + DOCUMENTS, count);
+        }
+        return count;
+    }
+
+    /**
+     * @return the header position of data document number, counting from 0, for Wires.readData(position, ...), or -1
+     * if it hasn't been indexed.
+     */
+    public long positionOf(@NotNull BytesStore documents, long number) {
+        if (number < 0 || number >= documents())
+            return -1;
+        long position = positions.getVolatileValueAt(number / spacing);
+        for (long skip = number % spacing; ; ) {
+            int header = documents.readVolatileInt(position);
+            if (Wires.isData(header) && skip-- == 0)
+                return position;
+            position += 4 + Wires.lengthOf(header);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import java.util.Arrays;
+
+/**
+ * Records where each field of a marshallable starts, keyed by the hash of the field, as offsets from the start of
+ * the marshallable so the index can be reused for the next marshallable of the same shape.
+ * <p>
+ * Entries are only hints; the caller must check the field found at a position is the one it asked for. Entries put
+ * since the last rebase are known to be in this marshallable, see {@link #seen(int)}.
+ */
+class FieldIndex {
+    static final long NOT_FOUND = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private long[] offsets = new long[INITIAL_CAPACITY];
+    private int[] stamps = new int[INITIAL_CAPACITY];
+    private int stamp = 0;
+    private int count = 0;
+    private long base = NOT_FOUND;
+    private long limit = NOT_FOUND;
+    private long scanned = NOT_FOUND;
+
+    private static int index(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * @return true if this index was last used for the marshallable ending at this limit.
+     */
+    boolean isFor(long limit) {
+        return this.limit == limit;
+    }
+
+    /**
+     * Use this index for the marshallable starting at base, keeping the offsets from the last one.
+     */
+    void rebase(long base, long limit) {
+        this.base = base;
+        this.limit = limit;
+        this.scanned = base;
+        stamp++;
+    }
+
+    /**
+     * @return the end of the marshallable this index is for, or NOT_FOUND if not known yet.
+     */
+    long limit() {
+        return limit;
+    }
+
+    void clear() {
+        Arrays.fill(offsets, 0, offsets.length, 0);
+        count = 0;
+        base = limit = scanned = NOT_FOUND;
+    }
+
+    /**
+     * @return the position up to which the fields have been added to this index since it was rebased.
+     */
+    long scanned() {
+        return scanned;
+    }
+
+    void scanned(long position) {
+        if (position > scanned)
+            scanned = position;
+    }
+
+    void put(int hash, long position) {
+        putSeen(hash, position);
+    }
+
+    /**
+     * Put the position of a field.
+     *
+     * @return the position it was put at before since the last rebase, or NOT_FOUND
+     */
+    long putSeen(int hash, long position) {
+        if (position < base)
+            return NOT_FOUND;
+        if (count * 2 >= hashes.length)
+            resize();
+        int mask = hashes.length - 1;
+        for (int i = index(hash, mask); ; i = (i + 1) & mask) {
+            // offsets are stored + 1 so 0 is free.
+            if (offsets[i] == 0) {
+                hashes[i] = hash;
+                offsets[i] = position - base + 1;
+                stamps[i] = stamp;
+                count++;
+                return NOT_FOUND;
+            }
+            if (hashes[i] == hash) {
+                long seen = stamps[i] == stamp ? base + offsets[i] - 1 : NOT_FOUND;
+                offsets[i] = position - base + 1;
+                stamps[i] = stamp;
+                return seen;
+            }
+        }
+    }
+
+    private void resize() {
+        int[] hashes0 = hashes;
+        long[] offsets0 = offsets;
+        int[] stamps0 = stamps;
+        hashes = new int[hashes0.length * 2];
+        offsets = new long[hashes0.length * 2];
+        stamps = new int[hashes0.length * 2];
+        count = 0;
+        int mask = hashes.length - 1;
+        for (int j = 0; j < hashes0.length; j++) {
+            if (offsets0[j] == 0)
+                continue;
+            int i = index(hashes0[j], mask);
+            while (offsets[i] != 0)
+                i = (i + 1) & mask;
+            hashes[i] = hashes0[j];
+            offsets[i] = offsets0[j];
+            stamps[i] = stamps0[j];
+            count++;
+        }
+    }
+
+    /**
+     * @return the position the field with this hash was last seen at, or NOT_FOUND
+     */
+    long position(int hash) {
+        int mask = hashes.length - 1;
+        for (int i = index(hash, mask); offsets[i] != 0; i = (i + 1) & mask) {
+            if (hashes[i] == hash) {
+                long position = base + offsets[i] - 1;
+                return position < limit ? position : NOT_FOUND;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * @return the position the field with this hash was put at since the last rebase, or NOT_FOUND
+     */
+    long seen(int hash) {
+        int mask = hashes.length - 1;
+        for (int i = index(hash, mask); offsets[i] != 0; i = (i + 1) & mask) {
+            if (hashes[i] == hash)
+                return stamps[i] == stamp ? base + offsets[i] - 1 : NOT_FOUND;
+        }
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.BytesStore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * A WireParser which looks up handlers in open addressed hash tables rather than a TreeMap.
+ * <p>
+ * Names are hashed the same way as String.hashCode() so an ASCII name can be matched directly against the encoded
+ * bytes of a BinaryWire field without decoding it. Field numbers are looked up in a table keyed by a primitive int.
+ */
+public class HashWireParser implements WireParser {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] nameHashes = new int[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private Consumer<ValueIn>[] namedConsumers = newConsumers(INITIAL_CAPACITY);
+    private int nameCount = 0;
+
+    private int[] numbers = new int[INITIAL_CAPACITY];
+    private Consumer<ValueIn>[] numberedConsumers = newConsumers(INITIAL_CAPACITY);
+    private int numberCount = 0;
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<ValueIn>[] newConsumers(int capacity) {
+        return new Consumer[capacity];
+    }
+
+    static int hash(@NotNull CharSequence name) {
+        // the same as String.hashCode(), which a String caches.
+        if (name instanceof String)
+            return name.hashCode();
+        int h = 0;
+        for (int i = 0, len = name.length(); i < len; i++)
+            h = 31 * h + name.charAt(i);
+        return h;
+    }
+
+    private static int index(int hash, int mask) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    @Override
+    public void parse(WireIn wireIn) {
+        StringBuilder sb = Wires.SBP.acquireStringBuilder();
+        ValueIn valueIn;
+        Consumer<ValueIn> consumer;
+        if (wireIn instanceof BinaryWire) {
+            consumer = ((BinaryWire) wireIn).readEventHandler(this, sb);
+            valueIn = wireIn.getValueIn();
+
+        } else {
+            valueIn = wireIn.read(sb);
+            consumer = lookup(sb);
+        }
+        if (consumer == null)
+            consumer = lookup(DEFAULT.name());
+        if (consumer == null)
+            throw new IllegalArgumentException("Unhandled event type " + sb);
+        consumer.accept(valueIn);
+    }
+
+    @Override
+    public void register(WireKey key, Consumer<ValueIn> valueInConsumer) {
+        putName(key.name().toString(), valueInConsumer);
+        putNumber(key.code(), valueInConsumer);
+    }
+
+    private void putName(String name, Consumer<ValueIn> consumer) {
+        if (nameCount * 2 >= names.length)
+            resizeNames();
+        int hash = hash(name);
+        int mask = names.length - 1;
+        for (int i = index(hash, mask); ; i = (i + 1) & mask) {
+            if (names[i] == null) {
+                nameHashes[i] = hash;
+                names[i] = name;
+                namedConsumers[i] = consumer;
+                nameCount++;
+                return;
+            }
+            if (nameHashes[i] == hash && names[i].equals(name)) {
+                namedConsumers[i] = consumer;
+                return;
+            }
+        }
+    }
+
+    private void resizeNames() {
+        String[] names0 = names;
+        Consumer<ValueIn>[] consumers0 = namedConsumers;
+        nameHashes = new int[names0.length * 2];
+        names = new String[names0.length * 2];
+        namedConsumers = newConsumers(names0.length * 2);
+        nameCount = 0;
+        for (int i = 0; i < names0.length; i++)
+            if (names0[i] != null)
+                putName(names0[i], consumers0[i]);
+    }
+
+    private void putNumber(int number, Consumer<ValueIn> consumer) {
+        if (numberCount * 2 >= numbers.length)
+            resizeNumbers();
+        int mask = numbers.length - 1;
+        for (int i = index(number, mask); ; i = (i + 1) & mask) {
+            if (numberedConsumers[i] == null) {
+                numbers[i] = number;
+                numberedConsumers[i] = consumer;
+                numberCount++;
+                return;
+            }
+            if (numbers[i] == number) {
+                numberedConsumers[i] = consumer;
+                return;
+            }
+        }
+    }
+
+    private void resizeNumbers() {
+        int[] numbers0 = numbers;
+        Consumer<ValueIn>[] consumers0 = numberedConsumers;
+        numbers = new int[numbers0.length * 2];
+        numberedConsumers = newConsumers(numbers0.length * 2);
+        numberCount = 0;
+        for (int i = 0; i < numbers0.length; i++)
+            if (consumers0[i] != null)
+                putNumber(numbers0[i], consumers0[i]);
+    }
+
+    @Override
+    public Consumer<ValueIn> lookup(CharSequence name) {
+        int hash = hash(name);
+        int mask = names.length - 1;
+        for (int i = index(hash, mask); names[i] != null; i = (i + 1) & mask) {
+            if (nameHashes[i] == hash && names[i].contentEquals(name))
+                return namedConsumers[i];
+        }
+        return null;
+    }
+
+    /**
+     * Match a name encoded in bytes without decoding it.
+     *
+     * @return the handler or null if not registered or the name is not ASCII.
+     */
+    @Nullable
+    Consumer<ValueIn> lookup(@NotNull BytesStore bytes, long offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            int b = bytes.readByte(offset + i);
+            if (b < 0)
+                return null;
+            hash = 31 * hash + b;
+        }
+        int mask = names.length - 1;
+        outer:
+        for (int i = index(hash, mask); names[i] != null; i = (i + 1) & mask) {
+            if (nameHashes[i] != hash)
+                continue;
+            String name = names[i];
+            if (name.length() != length)
+                continue;
+            for (int j = 0; j < length; j++)
+                if (name.charAt(j) != bytes.readByte(offset + j))
+                    continue outer;
+            return namedConsumers[i];
+        }
+        return null;
+    }
+
+    @Override
+    public Consumer<ValueIn> lookup(int number) {
+        int mask = numbers.length - 1;
+        for (int i = index(number, mask); numberedConsumers[i] != null; i = (i + 1) & mask) {
+            if (numbers[i] == number)
+                return numberedConsumers[i];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.IORuntimeException;
+import net.openhft.chronicle.bytes.MappedBytesStore;
+import net.openhft.chronicle.bytes.MappedFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * An append only log of documents in a directory of memory mapped segment files, each document framed as by
+ * Wires.writeData with a 4 byte header.
+ * <p>
+ * A writer claims the header after the last document by CAS-ing it from 0 to NOT_READY, so other writers, in this
+ * process or another, move past it, and publishes the document by writing its length. Readers poll the header with a
+ * volatile read and stop at the first one which isn't ready. A document is only started where there is room for
+ * maxDocumentSize bytes before the end of the segment; otherwise the header is marked END_OF_SEGMENT and writers and
+ * readers continue at the start of the next segment.
+ * <p>
+ * An instance, and each Tailer, is for use by one thread. All the writers to a log must use the same maxDocumentSize.
+ */
+public class MappedDocumentLog implements Closeable {
+    static final String SUFFIX = ".wlog";
+    // can't be a document, as a ready document has a length less than LENGTH_MASK.
+    static final int END_OF_SEGMENT = Wires.NOT_READY | Wires.META_DATA | Wires.LENGTH_MASK;
+
+    private final File dir;
+    private final WireType wireType;
+    private final long segmentSize;
+    private final int maxDocumentSize;
+    @Nullable
+    private Segment segment;
+    // the header after the last document written or seen by this writer.
+    private long position;
+
+    public MappedDocumentLog(@NotNull File dir, @NotNull WireType wireType, long segmentSize, int maxDocumentSize) {
+        if (maxDocumentSize <= 0 || maxDocumentSize >= Wires.LENGTH_MASK)
+            throw new IllegalArgumentException("maxDocumentSize: " + maxDocumentSize);
+        if (segmentSize < maxDocumentSize + 8L)
+            throw new IllegalArgumentException("segmentSize: " + segmentSize + " is too small for maxDocumentSize: " + maxDocumentSize);
+        if (!dir.isDirectory() && !dir.mkdirs())
+            throw new IORuntimeException("Unable to create " + dir);
+        this.dir = dir;
+        this.wireType = wireType;
+        this.segmentSize = segmentSize;
+        this.maxDocumentSize = maxDocumentSize;
+    }
+
+    public File dir() {
+        return dir;
+    }
+
+    public WireType wireType() {
+        return wireType;
+    }
+
+    File segmentFile(int number) {
+        return new File(dir, String.format("%08d", number) + SUFFIX);
+    }
+
+    // the lowest or highest segment number, or -1 if there are none.
+    int findSegment(boolean last) {
+        String[] names = dir.list((d, name) -> name.endsWith(SUFFIX));
+        int found = -1;
+        if (names != null) {
+            for (String name : names) {
+                try {
+                    int number = Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+                    if (found < 0 || (last ? number > found : number < found))
+                        found = number;
+                } catch (NumberFormatException ignored) {
+                    // not a segment.
+                }
+            }
+        }
+        return found;
+    }
+
+    Segment openSegment(int number) {
+        MappedFile mappedFile = null;
+        try {
+            mappedFile = MappedFile.mappedFile(segmentFile(number), segmentSize);
+            while (true) {
+                try {
+                    return new Segment(number, mappedFile, wireType);
+                } catch (OverlappingFileLockException e) {
+                    // another thread in this process is mapping the same file.
+                    Thread.yield();
+                }
+            }
+        } catch (IOException e) {
+            if (mappedFile != null)
+                mappedFile.close();
+            throw new IORuntimeException(e);
+        }
+    }
+
+    /**
+     * Append a document, or meta-data, to the end of the log.
+     *
+     * @throws IllegalArgumentException if the document is empty.
+     */
+    public void writeDocument(boolean metaData, @NotNull Consumer<WireOut> writer) {
+        if (segment == null) {
+            segment = openSegment(Math.max(0, findSegment(true)));
+            position = 0;
+        }
+        claimHeader(metaData);
+        Segment s = segment;
+        Bytes bytes = s.bytes;
+        bytes.position(position);
+        bytes.limit(position + 4 + maxDocumentSize);
+        boolean written = false;
+        try {
+            Wires.writeData(s.wire, metaData, writer);
+            written = true;
+        } finally {
+            bytes.limit(bytes.capacity());
+            // the header is claimed, so give up the rest of the segment rather than leave readers waiting.
+            if (!written)
+                s.store.writeOrderedInt(position, END_OF_SEGMENT);
+        }
+        // an empty data document has a header of 0, so it is free to be claimed again.
+        if (bytes.position() == position + 4 && !metaData)
+            throw new IllegalArgumentException("Cannot write an empty document");
+        position = bytes.position();
+    }
+
+    private void claimHeader(boolean metaData) {
+        int claimed = (metaData ? Wires.META_DATA : 0) | Wires.NOT_READY | Wires.UNKNOWN_LENGTH;
+        while (true) {
+            MappedBytesStore store = segment.store;
+            long found = Wires.claimHeader(store, position, segmentSize - 4 - maxDocumentSize, claimed);
+            if (found >= 0) {
+                position = found;
+                return;
+            }
+            position = ~found;
+            // no room for another document, or another writer has found that already.
+            store.compareAndSwapInt(position, 0, END_OF_SEGMENT);
+            int header = store.readVolatileInt(position);
+            if (header != END_OF_SEGMENT)
+                throw new IllegalStateException("Unexpected header " + Integer.toHexString(header) + " at " + position
+                        + ", do all the writers have the same maxDocumentSize?");
+            int next = segment.number + 1;
+            segment.close();
+            segment = openSegment(next);
+            position = 0;
+        }
+    }
+
+    /**
+     * @return a reader from the start of the first segment.
+     */
+    public Tailer createTailer() {
+        return new Tailer();
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            segment.close();
+            segment = null;
+        }
+    }
+
+    static final class Segment implements Closeable {
+        final int number;
+        final MappedFile mappedFile;
+        final MappedBytesStore store;
+        final Bytes bytes;
+        final Wire wire;
+
+        Segment(int number, MappedFile mappedFile, WireType wireType) throws IOException {
+            this.number = number;
+            this.mappedFile = mappedFile;
+            this.store = mappedFile.acquireByteStore(0);
+            this.bytes = store.bytes();
+            this.wire = wireType.apply(bytes);
+        }
+
+        @Override
+        public void close() {
+            bytes.release();
+            store.release();
+            mappedFile.close();
+        }
+    }
+
+    public class Tailer implements Closeable {
+        @Nullable
+        private Segment segment;
+        private long position;
+
+        private boolean hasSegment() {
+            if (segment == null) {
+                int first = findSegment(false);
+                if (first < 0)
+                    return false;
+                segment = openSegment(first);
+                position = 0;
+            }
+            return true;
+        }
+
+        // move to the next segment if this one has ended and the next exists.
+        private boolean nextSegment() {
+            if (segment.store.readVolatileInt(position) != END_OF_SEGMENT)
+                return false;
+            int next = segment.number + 1;
+            if (!segmentFile(next).exists())
+                return false;
+            segment.close();
+            segment = openSegment(next);
+            position = 0;
+            return true;
+        }
+
+        /**
+         * Read any meta-data up to and including the next document.
+         *
+         * @return true if anything was read, false if the next document isn't ready yet.
+         */
+        public boolean readDocument(@Nullable Consumer<WireIn> metaDataConsumer,
+                                    @Nullable Consumer<WireIn> dataConsumer) {
+            if (!hasSegment())
+                return false;
+            boolean read = false;
+            while (true) {
+                int header = segment.store.readVolatileInt(position);
+                if (header == END_OF_SEGMENT) {
+                    if (nextSegment())
+                        continue;
+                    return read;
+                }
+                if (header == 0 || !Wires.isReady(header))
+                    return read;
+
+                long start = position + 4;
+                position = start + Wires.lengthOf(header);
+                Consumer<WireIn> consumer = Wires.isData(header) ? dataConsumer : metaDataConsumer;
+                if (consumer != null) {
+                    Bytes bytes = segment.bytes;
+                    bytes.position(start);
+                    bytes.limit(position);
+                    try {
+                        consumer.accept(segment.wire);
+                    } finally {
+                        bytes.limit(bytes.capacity());
+                    }
+                }
+                if (Wires.isData(header))
+                    return true;
+                read = true;
+            }
+        }
+
+        /**
+         * Read up to maxCount data documents, skipping meta-data, across segments.
+         *
+         * @return the number of data documents read.
+         */
+        public int readDocuments(int maxCount, @NotNull Consumer<WireIn> dataConsumer) {
+            return readDocuments(maxCount, null, dataConsumer);
+        }
+
+        private int readDocuments(int maxCount, @Nullable Consumer<WireIn> metaDataConsumer,
+                                  @NotNull Consumer<WireIn> dataConsumer) {
+            if (!hasSegment())
+                return 0;
+            int count = 0;
+            do {
+                Bytes bytes = segment.bytes;
+                bytes.position(position);
+                count += Wires.readDocuments(segment.wire, maxCount - count, metaDataConsumer, dataConsumer);
+                position = bytes.position();
+            } while (count < maxCount && nextSegment());
+            return count;
+        }
+
+        /**
+         * Wait for the next data document using waitStrategy, reading any meta-data before it.
+         *
+         * @return true if a data document was read, false on timeout.
+         */
+        public boolean readDocument(@Nullable Consumer<WireIn> metaDataConsumer,
+                                    @NotNull Consumer<WireIn> dataConsumer,
+                                    @NotNull WaitStrategy waitStrategy,
+                                    long timeout, @NotNull TimeUnit unit) {
+            long deadline = 0;
+            for (int attempt = 0; ; attempt++) {
+                if (readDocuments(1, metaDataConsumer, dataConsumer) > 0)
+                    return true;
+                if (attempt == 0)
+                    deadline = System.nanoTime() + unit.toNanos(timeout);
+                else if (System.nanoTime() - deadline >= 0)
+                    return false;
+                waitStrategy.idle(attempt);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (segment != null) {
+                segment.close();
+                segment = null;
+            }
+        }
+    }
+}
@@ -21,5 +21,21 @@ package net.openhft.chronicle.wire;
  * Created by peter.lawrey on 1/10/15.
  */
 public interface Marshallable extends WriteMarshallable, ReadMarshallable {
+    /**
+     * Write each non-transient field in turn, unless overridden with hand written code.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    default void writeMarshallable(WireOut wire) {
+        ((WireMarshaller<Marshallable>) WireMarshaller.of(getClass())).writeMarshallable(this, wire);
+    }
 
+    /**
+     * Read each non-transient field in the order written, unless overridden with hand written code.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    default void readMarshallable(WireIn wire) throws IllegalStateException {
+        ((WireMarshaller<Marshallable>) WireMarshaller.of(getClass())).readMarshallable(this, wire);
+    }
 }
@@ -36,6 +36,13 @@ public class MarshallableBytesMarshaller<M extends Marshallable> implements Byte
         return new MarshallableBytesMarshaller<>(wireFactory, mSupplier);
     }
 
+    /**
+     * Uses the wire held per thread by the wireType, so no wire is created per message.
+     */
+    public static <M extends Marshallable> MarshallableBytesMarshaller<M> of(WireType wireType, Supplier<M> mSupplier) {
+        return new MarshallableBytesMarshaller<>(wireType::acquireWire, mSupplier);
+    }
+
     @Override
     public void write(Bytes bytes, M m) {
         m.writeMarshallable(wireFactory.apply(bytes));
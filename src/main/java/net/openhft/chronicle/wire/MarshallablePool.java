@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.OS;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Instances of marshallables to read into again once the caller has finished with them, so decoding a stream of
+ * messages of many types doesn't allocate once each type has been seen.
+ * <p>
+ * Each thread has its own instances, up to capacityPerClass of each class. An instance released is reused as is, so
+ * its readMarshallable must set every field and it must not be used after it is released.
+ */
+public class MarshallablePool {
+    private final int capacityPerClass;
+    private final ThreadLocal<Map<Class, Instances>> instancesTL = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    public MarshallablePool() {
+        this(16);
+    }
+
+    public MarshallablePool(int capacityPerClass) {
+        if (capacityPerClass < 0)
+            throw new IllegalArgumentException("capacityPerClass " + capacityPerClass + " must not be negative");
+        this.capacityPerClass = capacityPerClass;
+    }
+
+    /**
+     * @return an instance released by this thread, or a new one if there isn't one.
+     */
+    @NotNull
+    public <T> T acquire(@NotNull Class<T> clazz) {
+        Instances instances = instancesTL.get().get(clazz);
+        if (instances != null && instances.count > 0) {
+            Object o = instances.free[--instances.count];
+            instances.free[instances.count] = null;
+            return clazz.cast(o);
+        }
+        return newInstance(clazz);
+    }
+
+    /**
+     * Return an instance to be used again by this thread. If there are already capacityPerClass it is dropped.
+     */
+    public void release(@Nullable Object o) {
+        if (o == null)
+            return;
+        Map<Class, Instances> map = instancesTL.get();
+        Instances instances = map.get(o.getClass());
+        if (instances == null)
+            map.put(o.getClass(), instances = new Instances(capacityPerClass));
+        if (instances.count < instances.free.length)
+            instances.free[instances.count++] = o;
+    }
+
+    /**
+     * @return how many instances of this class this thread has to reuse.
+     */
+    public int available(@NotNull Class clazz) {
+        Instances instances = instancesTL.get().get(clazz);
+        return instances == null ? 0 : instances.count;
+    }
+
+    @NotNull
+    static <T> T newInstance(@NotNull Class<T> clazz) {
+        try {
+            return clazz.newInstance();
+        } catch (InstantiationException | IllegalAccessException e) {
+            // no default constructor we can call.
+            return OS.memory().allocateInstance(clazz);
+        }
+    }
+
+    static final class Instances {
+        final Object[] free;
+        int count = 0;
+
+        Instances(int capacity) {
+            free = new Object[capacity];
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * How ValueOut.object writes a value and ValueIn.object reads one, looked up by class and cached with a ClassValue
+ * rather than testing each supported type in turn.
+ * <p>
+ * A handler added for a class is used for that class, and for sub classes unless a handler was added for the sub
+ * class, or a super class or interface added before it also matches. Adding a handler for a class again replaces
+ * the previous one.
+ */
+public enum ObjectHandlers {
+    ;
+
+    private static final Dispatch<Writer<?>> WRITERS = new Dispatch<>();
+    private static final Dispatch<Reader<?>> READERS = new Dispatch<>();
+
+    static {
+        addWriter(byte[].class, ValueOut::rawBytes);
+        addWriter(Map.class, ValueOut::map);
+        addWriter(Byte.class, ValueOut::int8);
+        addWriter(Character.class, (out, c) -> out.text(c.toString()));
+        addWriter(Short.class, ValueOut::int16);
+        addWriter(Integer.class, ValueOut::int32);
+        addWriter(Long.class, ValueOut::int64);
+        addWriter(Float.class, ValueOut::float32);
+        addWriter(Double.class, ValueOut::float64);
+        addWriter(Boolean.class, ValueOut::bool);
+        addWriter(CharSequence.class, ValueOut::text);
+        addWriter(Marshallable.class, ValueOut::marshallable);
+        addWriter(Throwable.class, ValueOut::throwable);
+        addWriter(UUID.class, ValueOut::uuid);
+        addWriter(LocalDate.class, ValueOut::date);
+        addWriter(LocalTime.class, ValueOut::time);
+        addWriter(ZonedDateTime.class, ValueOut::zonedDateTime);
+        addWriter(Enum.class, (out, e) -> out.text(e.name()));
+
+        addReader(byte[].class, (in, using, clazz) -> in.bytes());
+        addReader(Marshallable.class, ObjectHandlers::readMarshallable);
+        addReader(StringBuilder.class, (in, using, clazz) -> {
+            StringBuilder builder = using == null ? Wires.acquireStringBuilder() : using;
+            in.textTo(builder);
+            return builder;
+        });
+        addReader(CharSequence.class, (in, using, clazz) -> in.text());
+        addReader(Long.class, (in, using, clazz) -> in.int64());
+        addReader(Double.class, (in, using, clazz) -> in.float64());
+        addReader(Integer.class, (in, using, clazz) -> in.int32());
+        addReader(Float.class, (in, using, clazz) -> in.float32());
+        addReader(Short.class, (in, using, clazz) -> in.int16());
+        addReader(Character.class, (in, using, clazz) -> {
+            String text = in.text();
+            return text == null || text.length() == 0 ? null : text.charAt(0);
+        });
+        addReader(Byte.class, (in, using, clazz) -> in.int8());
+        addReader(Map.class, (in, using, clazz) -> {
+            Map<String, String> map = new HashMap<>();
+            in.map(map);
+            return map;
+        });
+        addReader(Boolean.class, (in, using, clazz) -> in.bool());
+        addReader(UUID.class, (in, using, clazz) -> {
+            UUID[] uuid = {null};
+            in.uuid(u -> uuid[0] = u);
+            return uuid[0];
+        });
+        addReader(LocalDate.class, (in, using, clazz) -> {
+            LocalDate[] date = {null};
+            in.date(d -> date[0] = d);
+            return date[0];
+        });
+        addReader(LocalTime.class, (in, using, clazz) -> {
+            LocalTime[] time = {null};
+            in.time(t -> time[0] = t);
+            return time[0];
+        });
+        addReader(ZonedDateTime.class, (in, using, clazz) -> {
+            ZonedDateTime[] dateTime = {null};
+            in.zonedDateTime(t -> dateTime[0] = t);
+            return dateTime[0];
+        });
+        addReader(Enum.class, ObjectHandlers::readEnum);
+    }
+
+    public static <T> void addWriter(@NotNull Class<T> type, @NotNull Writer<? super T> writer) {
+        WRITERS.add(type, writer);
+    }
+
+    public static <T> void addReader(@NotNull Class<T> type, @NotNull Reader<T> reader) {
+        READERS.add(type, reader);
+    }
+
+    /**
+     * @return the writer for values of this class, or null if there isn't one.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> Writer<T> writerFor(@NotNull Class<? extends T> type) {
+        // added for this class or a super class, so it accepts values of this class.
+        return (Writer<T>) WRITERS.get(type);
+    }
+
+    /**
+     * @return the reader for this class, or null if there isn't one.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    public static <T> Reader<T> readerFor(@NotNull Class<T> type) {
+        return (Reader<T>) READERS.get(type);
+    }
+
+    private static Marshallable readMarshallable(ValueIn in, Marshallable using, Class<Marshallable> clazz) {
+        final Marshallable v;
+        if (using == null)
+            try {
+                v = clazz.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        else
+            v = using;
+
+        in.marshallable(v);
+        return v;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Enum readEnum(ValueIn in, Enum using, Class<Enum> clazz) {
+        String name = in.text();
+        return name == null ? null : Enum.valueOf((Class) clazz, name);
+    }
+
+    @FunctionalInterface
+    public interface Writer<T> {
+        WireOut write(ValueOut out, T value);
+    }
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(ValueIn in, @Nullable T using, Class<T> clazz);
+    }
+
+    static final class Dispatch<H> {
+        private final List<Class<?>> types = new ArrayList<>();
+        private final List<H> handlers = new ArrayList<>();
+        private volatile ClassValue<H> cache = newCache();
+
+        synchronized void add(@NotNull Class<?> type, @NotNull H handler) {
+            int index = types.indexOf(type);
+            if (index >= 0) {
+                handlers.set(index, handler);
+            } else {
+                types.add(type);
+                handlers.add(handler);
+            }
+            // a new cache as classes already looked up might match differently now.
+            cache = newCache();
+        }
+
+        @Nullable
+        H get(@NotNull Class<?> type) {
+            return cache.get(type);
+        }
+
+        @NotNull
+        private ClassValue<H> newCache() {
+            return new ClassValue<H>() {
+                @Override
+                protected H computeValue(Class<?> type) {
+                    return find(type);
+                }
+            };
+        }
+
+        @Nullable
+        private synchronized H find(@NotNull Class<?> type) {
+            int index = types.indexOf(type);
+            if (index >= 0)
+                return handlers.get(index);
+            for (int i = 0; i < types.size(); i++)
+                if (types.get(i).isAssignableFrom(type))
+                    return handlers.get(i);
+            return null;
+        }
+    }
+}
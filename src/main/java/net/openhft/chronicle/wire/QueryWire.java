@@ -36,7 +36,6 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.Base64;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.*;
@@ -50,7 +49,7 @@ public class QueryWire implements Wire, InternalWireIn {
     private static final Logger LOG =
             LoggerFactory.getLogger(QueryWire.class);
 
-    final Bytes<?> bytes;
+    Bytes<?> bytes;
     final TextValueOut valueOut = new TextValueOut();
     final ValueIn valueIn = new TextValueIn();
 
@@ -60,6 +59,13 @@ public class QueryWire implements Wire, InternalWireIn {
         this.bytes = bytes;
     }
 
+    void bytes(@NotNull Bytes bytes) {
+        this.bytes = bytes;
+        ready = false;
+        valueOut.sep = "";
+        valueOut.fieldName = null;
+    }
+
     public static String asText(Wire wire) {
         QueryWire tw = new QueryWire(nativeBytes());
         wire.copyTo(tw);
@@ -196,6 +202,7 @@ public class QueryWire implements Wire, InternalWireIn {
     @Override
     public void clear() {
         bytes.clear();
+        valueOut.sep = "";
     }
 
     @Override
@@ -399,6 +406,48 @@ public class QueryWire implements Wire, InternalWireIn {
             return QueryWire.this;
         }
 
+        @Override
+        public WireOut array(int[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                if (i > 0)
+                    bytes.append(',');
+                bytes.append(array[offset + i]);
+            }
+            bytes.append(']');
+            elementSeparator();
+            return QueryWire.this;
+        }
+
+        @Override
+        public WireOut array(long[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                if (i > 0)
+                    bytes.append(',');
+                bytes.append(array[offset + i]);
+            }
+            bytes.append(']');
+            elementSeparator();
+            return QueryWire.this;
+        }
+
+        @Override
+        public WireOut array(double[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                if (i > 0)
+                    bytes.append(',');
+                bytes.append(array[offset + i]);
+            }
+            bytes.append(']');
+            elementSeparator();
+            return QueryWire.this;
+        }
+
         @Override
         public WireOut float32(float f) {
             prependSeparator();
@@ -417,6 +466,14 @@ public class QueryWire implements Wire, InternalWireIn {
             return QueryWire.this;
         }
 
+        @Override
+        public WireOut fixed(long mantissa, int scale) {
+            prependSeparator();
+            Decimals.append(bytes, mantissa, scale);
+            elementSeparator();
+            return QueryWire.this;
+        }
+
         @Override
         public WireOut time(LocalTime localTime) {
             prependSeparator();
@@ -615,6 +672,15 @@ public class QueryWire implements Wire, InternalWireIn {
             return QueryWire.this;
         }
 
+        @Override
+        public WireIn skipValue() {
+            consumeWhiteSpace();
+            while (bytes.remaining() > 0)
+                if (bytes.readUnsignedByte() == '&')
+                    break;
+            return QueryWire.this;
+        }
+
         @Override
         public long readLength() {
             throw new UnsupportedOperationException("todo");
@@ -752,6 +818,77 @@ public class QueryWire implements Wire, InternalWireIn {
             return QueryWire.this;
         }
 
+        @Override
+        public int array(@NotNull int[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                long value = bytes.parseLong();
+                endOfArrayValue();
+                if (count < using.length)
+                    using[count] = (int) value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull long[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                long value = bytes.parseLong();
+                endOfArrayValue();
+                if (count < using.length)
+                    using[count] = value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull double[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                double value = bytes.parseDouble();
+                endOfArrayValue();
+                if (count < using.length)
+                    using[count] = value;
+            }
+            return count;
+        }
+
+        private void startArray() {
+            consumeWhiteSpace();
+            int code = readCode();
+            if (code != '[')
+                throw new IORuntimeException("Unsupported type " + (char) code + " (" + code + ")");
+        }
+
+        /**
+         * @return false if the closing ] has been read.
+         */
+        private boolean hasNextArrayValue() {
+            int code = peekCode();
+            if (code == ',') {
+                bytes.skip(1);
+                code = peekCode();
+            }
+            if (code == ']') {
+                bytes.skip(1);
+                return false;
+            }
+            if (code < 0 || code == '&')
+                throw new IORuntimeException("Expected a ] but got " + (char) code + " (" + code + ")");
+            return true;
+        }
+
+        // parseLong and parseDouble consume the character after the number so put it back.
+        private void endOfArrayValue() {
+            int ch = bytes.readByte(bytes.position() - 1);
+            if (ch == ',' || ch == ']' || ch == '&')
+                bytes.skip(-1);
+        }
+
         @Override
         public WireIn int64(LongValue value, @NotNull Consumer<LongValue> setter) {
             consumeWhiteSpace();
@@ -759,7 +896,7 @@ public class QueryWire implements Wire, InternalWireIn {
                 setter.accept(value = new TextLongReference());
             }
             Byteable b = (Byteable) value;
-            long length = b.maxSize();
+            long length = TextLongReference.length(bytes, bytes.position());
             b.bytesStore(bytes, bytes.position(), length);
             bytes.skip(length);
             consumeWhiteSpace();
@@ -796,6 +933,7 @@ public class QueryWire implements Wire, InternalWireIn {
             code = peekCode();
             if (code != ']')
                 throw new IORuntimeException("Expected a ] but got " + (char) code + " (" + code + ")");
+            bytes.skip(1);
 
             return QueryWire.this;
         }
@@ -889,6 +1027,12 @@ public class QueryWire implements Wire, InternalWireIn {
             throw new UnsupportedOperationException("todo");
         }
 
+        @Override
+        public long fixed(int scale) {
+            consumeWhiteSpace();
+            return Decimals.parse(bytes, scale);
+        }
+
         @Override
         public float float32() {
             throw new UnsupportedOperationException("todo");
@@ -920,9 +1064,6 @@ public class QueryWire implements Wire, InternalWireIn {
             if (isNull())
                 return null;
 
-            if (byte[].class.isAssignableFrom(clazz))
-                return (E) bytes();
-
             if (Marshallable.class.isAssignableFrom(clazz)) {
                 final E v;
                 if (using == null)
@@ -932,58 +1073,8 @@ public class QueryWire implements Wire, InternalWireIn {
 
                 valueIn.marshallable((Marshallable) v);
                 return v;
-
-            } else if (StringBuilder.class.isAssignableFrom(clazz)) {
-                StringBuilder builder = (using == null)
-                        ? Wires.acquireStringBuilder()
-                        : (StringBuilder) using;
-                valueIn.textTo(builder);
-                return using;
-
-            } else if (CharSequence.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) valueIn.text();
-
-            } else if (Long.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Long) valueIn.int64();
-
-            } else if (Double.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Double) valueIn.float64();
-
-            } else if (Integer.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Integer) valueIn.int32();
-
-            } else if (Float.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Float) valueIn.float32();
-
-            } else if (Short.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Short) valueIn.int16();
-
-            } else if (Character.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                final String text = valueIn.text();
-                if (text == null || text.length() == 0)
-                    return null;
-                return (E) (Character) text.charAt(0);
-
-            } else if (Byte.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Byte) valueIn.int8();
-
-            } else if (Map.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                final Map result = new HashMap();
-                valueIn.map(result);
-                return (E) result;
-
-            } else {
-                throw new IllegalStateException("unsupported type=" + clazz);
             }
+            return Wires.readObject(valueIn, using, clazz);
         }
     }
 
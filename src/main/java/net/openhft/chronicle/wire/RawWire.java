@@ -43,7 +43,7 @@ import java.util.function.*;
  * Created by peter.lawrey on 19/01/15.
  */
 public class RawWire implements Wire, InternalWireIn {
-    final Bytes bytes;
+    Bytes bytes;
     final RawValueOut valueOut = new RawValueOut();
     final RawValueIn valueIn = new RawValueIn();
     String lastField = "";
@@ -54,6 +54,13 @@ public class RawWire implements Wire, InternalWireIn {
         this.bytes = bytes;
     }
 
+    void bytes(@NotNull Bytes bytes) {
+        this.bytes = bytes;
+        ready = false;
+        lastField = "";
+        lastSB = null;
+    }
+
     @Override
     public boolean isReady() {
         return ready;
@@ -269,6 +276,36 @@ public class RawWire implements Wire, InternalWireIn {
             return RawWire.this;
         }
 
+        @Override
+        public WireOut int64array(long capacity, boolean padded) {
+            BinaryLongArrayReference.lazyWrite(bytes, capacity, padded);
+            return RawWire.this;
+        }
+
+        @Override
+        public WireOut array(int[] array, int offset, int length) {
+            bytes.writeStopBit(length);
+            for (int i = offset, end = offset + length; i < end; i++)
+                bytes.writeInt(array[i]);
+            return RawWire.this;
+        }
+
+        @Override
+        public WireOut array(long[] array, int offset, int length) {
+            bytes.writeStopBit(length);
+            for (int i = offset, end = offset + length; i < end; i++)
+                bytes.writeLong(array[i]);
+            return RawWire.this;
+        }
+
+        @Override
+        public WireOut array(double[] array, int offset, int length) {
+            bytes.writeStopBit(length);
+            for (int i = offset, end = offset + length; i < end; i++)
+                bytes.writeDouble(array[i]);
+            return RawWire.this;
+        }
+
         @Override
         public Wire float32(float f) {
             bytes.writeFloat(f);
@@ -281,6 +318,13 @@ public class RawWire implements Wire, InternalWireIn {
             return RawWire.this;
         }
 
+        @Override
+        public WireOut fixed(long mantissa, int scale) {
+            bytes.writeByte((byte) scale);
+            bytes.writeStopBit(mantissa);
+            return RawWire.this;
+        }
+
         @Override
         public Wire time(LocalTime localTime) {
             long t = localTime.toNanoOfDay();
@@ -456,6 +500,11 @@ public class RawWire implements Wire, InternalWireIn {
             return RawWire.this;
         }
 
+        @Override
+        public WireIn skipValue() {
+            throw new UnsupportedOperationException("A raw value doesn't have a type or length to skip");
+        }
+
         @Override
         public long readLength() {
             return bytes.readStopBit();
@@ -556,16 +605,49 @@ public class RawWire implements Wire, InternalWireIn {
 
         @Override
         public WireIn int64array(@Nullable LongArrayValues values, @NotNull Consumer<LongArrayValues> setter) {
-            if (!(values instanceof Byteable)) {
+            if (!(values instanceof BinaryLongArrayReference)) {
                 setter.accept(values = new BinaryLongArrayReference());
             }
             Byteable b = (Byteable) values;
-            long length = b.maxSize();
+            long length = BinaryLongArrayReference.peakLength(bytes, bytes.position());
             b.bytesStore(bytes, bytes.position(), length);
             bytes.skip(length);
             return RawWire.this;
         }
 
+        @Override
+        public int array(@NotNull int[] using) {
+            int count = Maths.toInt32(bytes.readStopBit(), "Array length %,d out of 32-bit int range.");
+            for (int i = 0; i < count; i++) {
+                int value = bytes.readInt();
+                if (i < using.length)
+                    using[i] = value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull long[] using) {
+            int count = Maths.toInt32(bytes.readStopBit(), "Array length %,d out of 32-bit int range.");
+            for (int i = 0; i < count; i++) {
+                long value = bytes.readLong();
+                if (i < using.length)
+                    using[i] = value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull double[] using) {
+            int count = Maths.toInt32(bytes.readStopBit(), "Array length %,d out of 32-bit int range.");
+            for (int i = 0; i < count; i++) {
+                double value = bytes.readDouble();
+                if (i < using.length)
+                    using[i] = value;
+            }
+            return count;
+        }
+
         @Override
         public WireIn int64(LongValue value, @NotNull Consumer<LongValue> setter) {
             if (!(value instanceof Byteable) || ((Byteable) value).maxSize() != 8) {
@@ -699,6 +781,12 @@ public class RawWire implements Wire, InternalWireIn {
             throw new UnsupportedOperationException("todo");
         }
 
+        @Override
+        public long fixed(int scale) {
+            int scale0 = bytes.readByte();
+            return Decimals.rescale(bytes.readStopBit(), scale0, scale);
+        }
+
         @Override
         public float float32() {
             throw new UnsupportedOperationException("todo");
@@ -21,20 +21,38 @@ import net.openhft.chronicle.bytes.Byteable;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.BytesStore;
 import net.openhft.chronicle.bytes.BytesUtil;
+import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.values.LongValue;
 
-import java.util.function.Supplier;
+import java.nio.ByteOrder;
 
+/**
+ * A long stored as text, guarded by an eight digit version which is odd while the value is being written.
+ * <p>
+ * Writers take turns by CAS-ing the version from even to odd and publish by making it even again. Readers never
+ * write; they retry if the version was odd or changed while they read the digits.
+ * <p>
+ * Values written before this layout, {@code !!atomic { locked: false, value: ... }}, are still bound and updated
+ * under their spin lock.
+ */
 public class TextLongReference implements LongValue, Byteable {
-    public static final byte[] template = "!!atomic { locked: false, value: 00000000000000000000 }".getBytes();
+    public static final byte[] template = "!!seqlock { version: 00000000, value: 00000000000000000000 }".getBytes();
+    public static final byte[] lockedTemplate = "!!atomic { locked: false, value: 00000000000000000000 }".getBytes();
     public static final int FALSE = BytesUtil.asInt("fals");
     public static final int TRUE = BytesUtil.asInt(" tru");
     static final long UNINITIALIZED = 0x0L;
+    static final int VERSION = 21;
+    static final int VALUE = 38;
     static final int LOCKED = 19;
-    static final int VALUE = 33;
+    static final int LOCKED_VALUE = 33;
+    private static final long LOCKED_TAG = BytesUtil.asLong("!!atomic");
     private static final int DIGITS = 20;
+    private static final long VERSIONS = 100_000_000L;
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
     private BytesStore bytes;
     private long offset;
+    private boolean locked;
+    private int valueAt = VALUE;
 
     public static void write(Bytes bytes, long value) {
         long position = bytes.position();
@@ -42,32 +60,113 @@ public class TextLongReference implements LongValue, Byteable {
         bytes.append(position + VALUE, value, DIGITS);
     }
 
-    <T> T withLock(Supplier<T> call) {
-        long valueOffset = offset + LOCKED;
-        int value = bytes.readVolatileInt(valueOffset);
-        if (value != FALSE && value != TRUE)
-            throw new IllegalStateException();
+    /**
+     * @return the length of the value at this offset, which may use either layout.
+     */
+    public static long length(BytesStore bytes, long offset) {
+        return bytes.readLong(offset) == LOCKED_TAG ? lockedTemplate.length : template.length;
+    }
+
+    private static long toText(long version) {
+        long word = Decimals.eightDigits(version % VERSIONS);
+        return LITTLE_ENDIAN ? word : Long.reverseBytes(word);
+    }
+
+    private static long fromText(long word) {
+        return Decimals.parseEightDigits(LITTLE_ENDIAN ? word : Long.reverseBytes(word));
+    }
+
+    /**
+     * @return the odd version this writer now holds.
+     */
+    private long lock() {
+        if (locked) {
+            while (!bytes.compareAndSwapInt(offset + LOCKED, FALSE, TRUE)) ;
+            return 0;
+        }
+        long versionOffset = offset + VERSION;
         while (true) {
-            if (bytes.compareAndSwapInt(valueOffset, FALSE, TRUE)) {
-                T t = call.get();
-                bytes.writeOrderedInt(valueOffset, FALSE);
-                return t;
-            }
+            long word = bytes.readVolatileLong(versionOffset);
+            long version = fromText(word);
+            if ((version & 1) == 0 && bytes.compareAndSwapLong(versionOffset, word, toText(version + 1)))
+                return version + 1;
+        }
+    }
+
+    private void unlock(long version) {
+        if (locked) {
+            bytes.writeOrderedInt(offset + LOCKED, FALSE);
+            return;
         }
+        bytes.writeOrderedLong(offset + VERSION, toText(version + 1));
+    }
+
+    // the digits may be torn, so this only has to give some value for them; the version check throws it away.
+    private long readDigits() {
+        if (!LITTLE_ENDIAN)
+            return bytes.parseLong(offset + valueAt);
+        long start = offset + valueAt;
+        int first = bytes.readUnsignedByte(start);
+        long value = first == '-' ? 0 : first - '0';
+        for (int i = 1; i < 4; i++)
+            value = value * 10 + bytes.readUnsignedByte(start + i) - '0';
+        value = value * VERSIONS + Decimals.parseEightDigits(bytes.readLong(start + 4));
+        value = value * VERSIONS + Decimals.parseEightDigits(bytes.readLong(start + 12));
+        return first == '-' ? -value : value;
+    }
+
+    private void writeDigits(long value) {
+        if (!LITTLE_ENDIAN || value == Long.MIN_VALUE) {
+            bytes.append(offset + valueAt, value, DIGITS);
+            return;
+        }
+        long start = offset + valueAt;
+        long abs = Math.abs(value);
+        bytes.writeLong(start + 12, Decimals.eightDigits(abs % VERSIONS));
+        abs /= VERSIONS;
+        bytes.writeLong(start + 4, Decimals.eightDigits(abs % VERSIONS));
+        abs /= VERSIONS;
+        for (int i = 3; i > 0; i--, abs /= 10)
+            bytes.writeByte(start + i, (byte) ('0' + abs % 10));
+        bytes.writeByte(start, (byte) (value < 0 ? '-' : '0' + abs));
     }
 
     @Override
     public void bytesStore(BytesStore bytes, long offset, long length) {
-        if (length != template.length) throw new IllegalArgumentException();
         this.bytes = bytes;
         this.offset = offset;
         if (bytes.readLong(offset) == UNINITIALIZED)
             bytes.write(offset, template);
+        locked = bytes.readLong(offset) == LOCKED_TAG;
+        valueAt = locked ? LOCKED_VALUE : VALUE;
+        if (length != maxSize()) throw new IllegalArgumentException();
+        if (locked) {
+            int flag = bytes.readVolatileInt(offset + LOCKED);
+            if (flag != FALSE && flag != TRUE)
+                throw new IllegalStateException();
+        } else if (!Decimals.isEightDigits(bytes.readVolatileLong(offset + VERSION))) {
+            throw new IllegalStateException();
+        }
     }
 
     @Override
     public long getValue() {
-        return withLock(() -> bytes.parseLong(offset + VALUE));
+        if (locked) {
+            lock();
+            long value = readDigits();
+            unlock(0);
+            return value;
+        }
+        long versionOffset = offset + VERSION;
+        while (true) {
+            long word = bytes.readVolatileLong(versionOffset);
+            if ((fromText(word) & 1) != 0)
+                continue;
+            long value = readDigits();
+            OS.memory().loadFence();
+            if (bytes.readVolatileLong(versionOffset) == word)
+                return value;
+        }
     }
 
     @Override
@@ -77,7 +176,9 @@ public class TextLongReference implements LongValue, Byteable {
 
     @Override
     public void setValue(long value) {
-        withLock(() -> bytes.append(offset + VALUE, value, DIGITS));
+        long version = lock();
+        writeDigits(value);
+        unlock(version);
     }
 
     @Override
@@ -92,7 +193,7 @@ public class TextLongReference implements LongValue, Byteable {
 
     @Override
     public long maxSize() {
-        return template.length;
+        return locked ? lockedTemplate.length : template.length;
     }
 
     @Override
@@ -106,11 +207,11 @@ public class TextLongReference implements LongValue, Byteable {
 
     @Override
     public long addValue(long delta) {
-        return withLock(() -> {
-            long value = bytes.parseLong(offset + VALUE) + delta;
-            bytes.append(offset + VALUE, value, DIGITS);
-            return value;
-        });
+        long version = lock();
+        long value = readDigits() + delta;
+        writeDigits(value);
+        unlock(version);
+        return value;
     }
 
     @Override
@@ -120,12 +221,14 @@ public class TextLongReference implements LongValue, Byteable {
 
     @Override
     public boolean compareAndSwapValue(long expected, long value) {
-        return withLock(() -> {
-            if (bytes.parseLong(offset + VALUE) == expected) {
-                bytes.append(offset + VALUE, value, DIGITS);
-                return true;
-            }
+        // fail without taking the lock if it can't succeed.
+        if (getValue() != expected)
             return false;
-        });
+        long version = lock();
+        boolean swap = readDigits() == expected;
+        if (swap)
+            writeDigits(value);
+        unlock(version);
+        return swap;
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteOrder;
+
+/**
+ * Scans text eight bytes at a time for white space and the characters which end or need quoting in a TextWire. Each
+ * word is tested with SWAR arithmetic which sets the top bit of every byte matching, so on a little endian machine
+ * the first match is found from the number of trailing zeros. The last few bytes, and big endian machines, use a
+ * byte at a time.
+ */
+enum TextScanner {
+    ;
+    private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    // the characters which need quotes, as a 128 bit mask.
+    private static final String QUOTE_CHARS = "\",\n\\#:{}[]";
+    private static final long QUOTE_LOW;
+    private static final long QUOTE_HIGH;
+
+    static {
+        long low = 0, high = 0;
+        for (char ch : QUOTE_CHARS.toCharArray()) {
+            if (ch < 64)
+                low |= 1L << ch;
+            else
+                high |= 1L << ch;
+        }
+        QUOTE_LOW = low;
+        QUOTE_HIGH = high;
+    }
+
+    private static long repeat(int ch) {
+        return ONES * ch;
+    }
+
+    /**
+     * @return the top bit set in each byte which is zero, exact up to and including the first zero byte.
+     */
+    private static long zeros(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    private static long matches(long word, int ch) {
+        return zeros(word ^ repeat(ch));
+    }
+
+    /**
+     * @return the top bit set in each byte between lo and hi inclusive, exact up to the first byte of 0x80 or more.
+     */
+    private static long between(long word, int lo, int hi) {
+        return (word + repeat(128 - lo)) & ~(word + repeat(127 - hi)) & HIGH_BITS;
+    }
+
+    /**
+     * @return the position of the first byte from position which is not white space, or limit if there is none.
+     */
+    static long skipWhiteSpace(@NotNull Bytes bytes, long position, long limit) {
+        if (LITTLE_ENDIAN) {
+            for (; position + 8 <= limit; position += 8) {
+                long word = bytes.readLong(position);
+                // as Character.isWhitespace, \t to \r and the separators 0x1C to 0x1F as well as space.
+                long space = between(word, '\t', '\r') | between(word, 0x1C, ' ');
+                long other = (~space | word) & HIGH_BITS;
+                if (other != 0)
+                    return position + (Long.numberOfTrailingZeros(other) >>> 3);
+            }
+        }
+        for (; position < limit; position++)
+            if (!Character.isWhitespace(bytes.readUnsignedByte(position)))
+                break;
+        return position;
+    }
+
+    /**
+     * Find the first byte which might end unquoted text; a double quote, hash, new line, colon or comma, as well as a
+     * closing brace when nested and a backslash when escaping. Bytes of 0x80 or more are also found as they need
+     * decoding.
+     *
+     * @return the position of the first such byte, or limit if there is none.
+     */
+    static long indexOfStop(@NotNull Bytes bytes, long position, long limit, boolean nested, boolean escaping) {
+        if (LITTLE_ENDIAN) {
+            for (; position + 8 <= limit; position += 8) {
+                long word = bytes.readLong(position);
+                long found = matches(word, '"') | matches(word, '#') | matches(word, '\n')
+                        | matches(word, ':') | matches(word, ',') | (word & HIGH_BITS);
+                if (nested)
+                    found |= matches(word, '}');
+                if (escaping)
+                    found |= matches(word, '\\');
+                if (found != 0)
+                    return position + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; position < limit; position++) {
+            int ch = bytes.readUnsignedByte(position);
+            if (ch == '"' || ch == '#' || ch == '\n' || ch == ':' || ch == ',' || ch >= 0x80
+                    || nested && ch == '}' || escaping && ch == '\\')
+                break;
+        }
+        return position;
+    }
+
+    /**
+     * Append bytes which are all ASCII, as found by indexOfStop, as chars.
+     */
+    static void appendAscii(@NotNull Bytes bytes, long position, long limit, @NotNull StringBuilder sb) {
+        if (LITTLE_ENDIAN) {
+            for (; position + 8 <= limit; position += 8) {
+                long word = bytes.readLong(position);
+                for (int shift = 0; shift < 64; shift += 8)
+                    sb.append((char) (word >>> shift & 0xFF));
+            }
+        }
+        for (; position < limit; position++)
+            sb.append((char) bytes.readUnsignedByte(position));
+    }
+
+    static boolean isQuoteChar(int ch) {
+        return ch < 128 && ((ch < 64 ? QUOTE_LOW : QUOTE_HIGH) >>> ch & 1) != 0;
+    }
+
+    /**
+     * @return true if the text is empty or contains a character which would be read as the end of the text.
+     */
+    static boolean needsQuotes(@NotNull CharSequence s) {
+        int length = s.length();
+        if (s instanceof Bytes)
+            return length == 0 || hasQuoteChar((Bytes) s, 0, length);
+        for (int i = 0; i < length; i++)
+            if (isQuoteChar(s.charAt(i)))
+                return true;
+        return length == 0;
+    }
+
+    private static boolean hasQuoteChar(@NotNull Bytes bytes, long position, long limit) {
+        // any match will do so the order of the bytes doesn't matter.
+        for (; position + 8 <= limit; position += 8) {
+            long word = bytes.readLong(position);
+            long found = matches(word, '"') | matches(word, ',') | matches(word, '\n') | matches(word, '\\')
+                    | matches(word, '#') | matches(word, ':') | matches(word, '{') | matches(word, '}')
+                    | matches(word, '[') | matches(word, ']');
+            if (found != 0)
+                return true;
+        }
+        for (; position < limit; position++)
+            if (isQuoteChar(bytes.readUnsignedByte(position)))
+                return true;
+        return false;
+    }
+}
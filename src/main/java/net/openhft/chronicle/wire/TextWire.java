@@ -56,16 +56,37 @@ public class TextWire implements Wire, InternalWireIn {
     private static final String END_FIELD = "\n";
     public static final String SEQ_MAP = "!seqmap";
 
-    final Bytes<?> bytes;
+    Bytes<?> bytes;
     final TextValueOut valueOut = new TextValueOut();
     final ValueIn valueIn = new TextValueIn();
 
     boolean ready;
 
+    // for reading fields out of order, the index of the fields at each level of nesting.
+    private FieldIndex[] fieldIndexes = {};
+    private int depth = 0;
+    private long scopeStart = -1;
+
+    // reused rather than created for every field read.
+    private final StopCharTester quotesEscaping = StopCharTesters.QUOTES.escaping();
+    private final StopCharsTester endOfTextEscaping = TextStopCharsTesters.END_OF_TEXT.escaping();
+
     public TextWire(Bytes bytes) {
         this.bytes = bytes;
     }
 
+    void bytes(@NotNull Bytes bytes) {
+        this.bytes = bytes;
+        ready = false;
+        depth = 0;
+        scopeStart = -1;
+        for (FieldIndex fieldIndex : fieldIndexes)
+            fieldIndex.clear();
+        valueOut.indentation = 0;
+        valueOut.sep = "";
+        valueOut.leaf = false;
+    }
+
     public static String asText(Wire wire) {
         TextWire tw = new TextWire(nativeBytes());
         wire.copyTo(tw);
@@ -109,19 +130,20 @@ public class TextWire implements Wire, InternalWireIn {
             int ch = peekCode();
             if (ch == '"') {
                 bytes.skip(1);
-                bytes.parseUTF(sb, StopCharTesters.QUOTES.escaping());
+                bytes.parseUTF(sb, quotesEscaping);
 
                 consumeWhiteSpace();
                 ch = readCode();
                 if (ch != ':')
                     throw new UnsupportedOperationException("Expected a : at " + bytes.toDebugString());
 
-            } else if (ch < 0) {
+            } else if (ch < 0 || (ch == '}' && depth > 0)) {
+                // the end of the document or marshallable
                 sb.setLength(0);
                 return sb;
 
-            } else {
-                bytes.parseUTF(sb, TextStopCharsTesters.END_OF_TEXT.escaping());
+            } else if (!readUnquoted(sb, false, true)) {
+                bytes.parseUTF(sb, endOfTextEscaping);
             }
             unescape(sb);
         } catch (BufferUnderflowException ignored) {
@@ -131,11 +153,47 @@ public class TextWire implements Wire, InternalWireIn {
     }
 
     void consumeWhiteSpace() {
-        int codePoint = peekCode();
-        while (Character.isWhitespace(codePoint)) {
-            bytes.skip(1);
-            codePoint = peekCode();
+        long position = bytes.position();
+        long end = TextScanner.skipWhiteSpace(bytes, position, scanLimit());
+        if (end > position)
+            bytes.skip(end - position);
+    }
+
+    // the limit of an elastic Bytes can be past the memory allocated.
+    private long scanLimit() {
+        return Math.min(bytes.limit(), bytes.realCapacity());
+    }
+
+    /**
+     * Read text up to and including the stop character the same as parseUTF with END_OF_TEXT or END_OF_NESTED_TEXT,
+     * provided it is ASCII without escapes and the stop character is before the limit.
+     *
+     * @return false, having read nothing, if parseUTF is needed.
+     */
+    private boolean readUnquoted(@NotNull StringBuilder sb, boolean nested, boolean escaping) {
+        long start = bytes.position();
+        long limit = scanLimit();
+        long stop = start;
+        while (true) {
+            stop = TextScanner.indexOfStop(bytes, stop, limit, nested, escaping);
+            if (stop >= limit)
+                return false;
+            int ch = bytes.readUnsignedByte(stop);
+            if (ch == ':' || ch == ',') {
+                // only a stop if followed by white space or the end.
+                if (stop + 1 < limit && bytes.readUnsignedByte(stop + 1) > ' ') {
+                    stop++;
+                    continue;
+                }
+            } else if (ch >= 0x80 || ch == '\\') {
+                return false;
+            }
+            break;
         }
+        sb.setLength(0);
+        TextScanner.appendAscii(bytes, start, stop, sb);
+        bytes.position(stop + 1);
+        return true;
     }
 
     int peekCode() {
@@ -194,13 +252,213 @@ public class TextWire implements Wire, InternalWireIn {
 
     @Override
     public ValueIn read(@NotNull WireKey key) {
-        long position = bytes.position();
+        long position = fieldStart();
+        if (depth == 0)
+            startTopLevel(position);
         StringBuilder sb = readField(Wires.acquireStringBuilder());
-        if (sb.length() == 0 ||  StringUtils.isEqual(sb, key.name()))
+        CharSequence name = key.name();
+        if (StringUtils.isEqual(sb, name)) {
+            if (depth == 0)
+                readTopLevel(name, position);
+            return valueIn;
+        }
+        // a field without a name matches any key.
+        if (sb.length() == 0 && !isEndOfScope())
+            return valueIn;
+        long end = bytes.position();
+        if (readUnordered(name, position))
             return valueIn;
+        if (sb.length() == 0) {
+            // past the end, the value is empty as before.
+            bytes.position(end);
+            bytes.limit(end);
+            return valueIn;
+        }
         bytes.position(position);
-        throw new UnsupportedOperationException("Unordered fields not supported yet. key=" + key
-                .name() + ", was=" + sb + ", data='" + sb + "'");
+        throw new UnsupportedOperationException("Field not found. key=" + name + ", was=" + sb);
+    }
+
+    /**
+     * @return the position of the next field, after any white space or separator before it.
+     */
+    private long fieldStart() {
+        consumeWhiteSpace();
+        if (peekCode() == ',') {
+            bytes.skip(1);
+            consumeWhiteSpace();
+        }
+        return bytes.position();
+    }
+
+    /**
+     * @return true if there are no more fields in this document, or this marshallable once readField has reached its
+     * closing }.
+     */
+    private boolean isEndOfScope() {
+        return bytes.remaining() == 0 || (depth > 0 && peekCode() == '}');
+    }
+
+    /**
+     * The next field is not the one wanted, so find it using the index of the fields in this marshallable, scanning
+     * ahead once to fill the index if needed.
+     *
+     * @return true if found and positioned at its value.
+     */
+    private boolean readUnordered(CharSequence name, long position) {
+        FieldIndex index = fieldIndex();
+        if (depth == 0) {
+            startTopLevel(position);
+
+        } else if (index.isFor(FieldIndex.NOT_FOUND)) {
+            // the end of a marshallable isn't known until it is reached, so index all of it once.
+            index.rebase(scopeStart, Long.MAX_VALUE);
+            bytes.position(scopeStart);
+            scanFields(index, null);
+            long end = bytes.position();
+            index.rebase(scopeStart, end);
+            index.scanned(end);
+        }
+
+        int hash = HashWireParser.hash(name);
+        // at the top level only a field seen in this document can be trusted.
+        long fieldPosition = depth == 0 ? index.seen(hash) : index.position(hash);
+        if (fieldPosition >= 0 && fieldPosition != position) {
+            bytes.position(fieldPosition);
+            if (StringUtils.isEqual(readField(Wires.acquireAnotherStringBuilder(name)), name))
+                return true;
+        }
+
+        // carry on indexing from where the last scan stopped, which is the start of the scope the first time.
+        bytes.position(index.scanned());
+        return scanFields(index, name);
+    }
+
+    /**
+     * Fields at the top level have no enclosing marshallable, so the first field read after the limit changes is
+     * taken as the start of the document for the index. The offsets are kept in case it has the same shape as the
+     * last one.
+     */
+    private void startTopLevel(long position) {
+        FieldIndex index = fieldIndex();
+        long limit = bytes.limit();
+        if (!index.isFor(limit))
+            index.rebase(position, limit);
+    }
+
+    /**
+     * A field read in order at the top level which was already read in this document starts the next one.
+     */
+    private void readTopLevel(CharSequence name, long position) {
+        FieldIndex index = fieldIndex();
+        int hash = HashWireParser.hash(name);
+        long seen = index.putSeen(hash, position);
+        if (seen >= 0 && seen < position) {
+            index.rebase(position, bytes.limit());
+            index.put(hash, position);
+        }
+    }
+
+    private static boolean isNextDocument(FieldIndex index, int hash, long position) {
+        long seen = index.seen(hash);
+        return seen >= 0 && seen < position;
+    }
+
+    /**
+     * Read the field names up to the end of the scope, adding them to the index.
+     *
+     * @return true if positioned at the value of the field called name.
+     */
+    private boolean scanFields(@Nullable FieldIndex index, @Nullable CharSequence name) {
+        StringBuilder sb = Wires.acquireAnotherStringBuilder(name);
+        for (; ; ) {
+            long start = fieldStart();
+            readField(sb);
+            if (sb.length() > 0) {
+                if (index != null) {
+                    int hash = HashWireParser.hash(sb);
+                    // don't scan past the top level document into the next one.
+                    if (depth == 0 && isNextDocument(index, hash, start)) {
+                        index.scanned(start);
+                        return false;
+                    }
+                    index.put(hash, start);
+                }
+                if (name != null && StringUtils.isEqual(sb, name)) {
+                    if (index != null)
+                        index.scanned(start);
+                    return true;
+                }
+
+            } else if (isEndOfScope()) {
+                if (index != null)
+                    index.scanned(start);
+                return false;
+            }
+            valueIn.skipValue();
+            if (bytes.position() == start)
+                return false;
+        }
+    }
+
+    /**
+     * The end of a marshallable is found as it is read, so a new one starts with no end in the index at its depth.
+     */
+    private void startScope() {
+        if (depth < fieldIndexes.length)
+            fieldIndexes[depth].rebase(scopeStart, FieldIndex.NOT_FOUND);
+    }
+
+    /**
+     * Skip any fields of this marshallable which were not read, stopping at its closing }.
+     */
+    private void skipToEndOfScope() {
+        long end = depth < fieldIndexes.length ? fieldIndexes[depth].limit() : FieldIndex.NOT_FOUND;
+        if (end >= bytes.position()) {
+            bytes.position(end);
+            return;
+        }
+        scanFields(null, null);
+    }
+
+    private FieldIndex fieldIndex() {
+        if (depth >= fieldIndexes.length) {
+            fieldIndexes = Arrays.copyOf(fieldIndexes, depth + 4);
+            for (int i = 0; i < fieldIndexes.length; i++)
+                if (fieldIndexes[i] == null)
+                    fieldIndexes[i] = new FieldIndex();
+        }
+        return fieldIndexes[depth];
+    }
+
+    private void skipNested() {
+        int count = 0;
+        while (bytes.remaining() > 0) {
+            int ch = bytes.readUnsignedByte();
+            switch (ch) {
+                case '"':
+                    skipQuoted();
+                    break;
+                case '{':
+                case '[':
+                    count++;
+                    break;
+                case '}':
+                case ']':
+                    if (--count == 0)
+                        return;
+                    break;
+            }
+        }
+    }
+
+    private void skipQuoted() {
+        while (bytes.remaining() > 0) {
+            int ch = bytes.readUnsignedByte();
+            if (ch == '"')
+                return;
+            if (ch == '\\' && bytes.remaining() > 0)
+                bytes.skip(1);
+        }
     }
 
     @Override
@@ -294,20 +552,8 @@ public class TextWire implements Wire, InternalWireIn {
         return sb2;
     }
 
-    static final BitSet QUOTE_CHARS = new BitSet();
-
-    static {
-        for (char ch : "\",\n\\#:{}[]".toCharArray())
-            QUOTE_CHARS.set(ch);
-    }
-
     boolean needsQuotes(CharSequence s) {
-        for (int i = 0; i < s.length(); i++) {
-            char ch = s.charAt(i);
-            if (QUOTE_CHARS.get(ch))
-                return true;
-        }
-        return s.length() == 0;
+        return TextScanner.needsQuotes(s);
     }
 
     public static final String NULL = "!null \"\"";
@@ -369,7 +615,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int8(byte i8) {
             prependSeparator();
-            bytes.append(i8);
+            Decimals.appendLong(bytes, i8);
             elementSeparator();
             return TextWire.this;
         }
@@ -419,7 +665,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire uint8checked(int u8) {
             prependSeparator();
-            bytes.append(u8);
+            Decimals.appendLong(bytes, u8);
             elementSeparator();
 
             return TextWire.this;
@@ -428,7 +674,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int16(short i16) {
             prependSeparator();
-            bytes.append(i16);
+            Decimals.appendLong(bytes, i16);
             elementSeparator();
 
             return TextWire.this;
@@ -437,7 +683,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire uint16checked(int u16) {
             prependSeparator();
-            bytes.append(u16);
+            Decimals.appendLong(bytes, u16);
             elementSeparator();
 
             return TextWire.this;
@@ -456,7 +702,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int32(int i32) {
             prependSeparator();
-            bytes.append(i32);
+            Decimals.appendLong(bytes, i32);
             elementSeparator();
 
             return TextWire.this;
@@ -465,7 +711,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire uint32checked(long u32) {
             prependSeparator();
-            bytes.append(u32);
+            Decimals.appendLong(bytes, u32);
             elementSeparator();
 
             return TextWire.this;
@@ -474,7 +720,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int64(long i64) {
             prependSeparator();
-            bytes.append(i64);
+            Decimals.appendLong(bytes, i64);
             elementSeparator();
 
             return TextWire.this;
@@ -486,6 +732,45 @@ public class TextWire implements Wire, InternalWireIn {
             return TextWire.this;
         }
 
+        @Override
+        public WireOut array(int[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                bytes.append(i == 0 ? " " : ", ");
+                Decimals.appendLong(bytes, array[offset + i]);
+            }
+            bytes.append(length == 0 ? "]" : " ]");
+            elementSeparator();
+            return TextWire.this;
+        }
+
+        @Override
+        public WireOut array(long[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                bytes.append(i == 0 ? " " : ", ");
+                Decimals.appendLong(bytes, array[offset + i]);
+            }
+            bytes.append(length == 0 ? "]" : " ]");
+            elementSeparator();
+            return TextWire.this;
+        }
+
+        @Override
+        public WireOut array(double[] array, int offset, int length) {
+            prependSeparator();
+            bytes.append('[');
+            for (int i = 0; i < length; i++) {
+                bytes.append(i == 0 ? " " : ", ");
+                Decimals.appendDouble(bytes, array[offset + i]);
+            }
+            bytes.append(length == 0 ? "]" : " ]");
+            elementSeparator();
+            return TextWire.this;
+        }
+
         @Override
         public Wire float32(float f) {
             prependSeparator();
@@ -498,12 +783,20 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire float64(double d) {
             prependSeparator();
-            bytes.append(d);
+            Decimals.appendDouble(bytes, d);
             elementSeparator();
 
             return TextWire.this;
         }
 
+        @Override
+        public WireOut fixed(long mantissa, int scale) {
+            prependSeparator();
+            Decimals.append(bytes, mantissa, scale);
+            elementSeparator();
+            return TextWire.this;
+        }
+
         @Override
         public Wire time(LocalTime localTime) {
             prependSeparator();
@@ -752,13 +1045,15 @@ public class TextWire implements Wire, InternalWireIn {
                 bytes.skip(len);
 
                 // read the next comma
-                bytes.skipTo(StopCharTesters.COMMA_STOP);
+                consumeWhiteSpace();
+                if (peekCode() == ',')
+                    bytes.skip(1);
 
                 return a;
 
             } else if (ch == '"') {
                 bytes.skip(1);
-                bytes.parseUTF(a, StopCharTesters.QUOTES.escaping());
+                bytes.parseUTF(a, quotesEscaping);
                 unescape(a);
 
             } else if (ch == '!') {
@@ -780,10 +1075,16 @@ public class TextWire implements Wire, InternalWireIn {
 
             } else {
                 if (bytes.remaining() > 0) {
+                    // a } ends the value inside a marshallable, the writer quotes text containing one.
+                    TextStopCharsTesters tester = depth > 0
+                            ? TextStopCharsTesters.END_OF_NESTED_TEXT
+                            : TextStopCharsTesters.END_OF_TEXT;
                     if (a instanceof Bytes)
-                        bytes.parse8bit(a, TextStopCharsTesters.END_OF_TEXT);
-                    else
-                        bytes.parseUTF(a, TextStopCharsTesters.END_OF_TEXT);
+                        bytes.parse8bit(a, tester);
+                    else if (!(a instanceof StringBuilder) || !readUnquoted((StringBuilder) a, depth > 0, false))
+                        bytes.parseUTF(a, tester);
+                    if (depth > 0 && rewindAndRead() == '}')
+                        bytes.skip(-1);
 
                 } else {
                     BytesUtil.setLength(a, 0);
@@ -810,7 +1111,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int8(@NotNull ByteConsumer i) {
             consumeWhiteSpace();
-            i.accept((byte) bytes.parseLong());
+            i.accept((byte) parseLong());
             return TextWire.this;
         }
 
@@ -879,6 +1180,50 @@ public class TextWire implements Wire, InternalWireIn {
             return TextWire.this;
         }
 
+        @Override
+        public WireIn skipValue() {
+            consumeWhiteSpace();
+            int ch = peekCode();
+            switch (ch) {
+                case '!':
+                    // a type prefix is followed by the value.
+                    while (peekCode() > ' ')
+                        bytes.skip(1);
+                    return skipValue();
+
+                case '{':
+                case '[':
+                    skipNested();
+                    break;
+
+                case '"':
+                    bytes.skip(1);
+                    skipQuoted();
+                    break;
+
+                default:
+                    // a closing bracket ends the value unless it was opened in the value e.g. a zone [Europe/London]
+                    int open = 0;
+                    while (bytes.remaining() > 0) {
+                        ch = peekCode();
+                        if (ch == '\n' || ch == '#')
+                            break;
+                        if (ch == '{' || ch == '[')
+                            open++;
+                        else if ((ch == '}' || ch == ']') && --open < 0)
+                            break;
+                        else if (ch == ',' && (bytes.remaining() < 2 || bytes.readByte(bytes.position() + 1) <= ' '))
+                            break;
+                        bytes.skip(1);
+                    }
+                    break;
+            }
+            consumeWhiteSpace();
+            if (peekCode() == ',')
+                bytes.skip(1);
+            return TextWire.this;
+        }
+
         @Override
         public long readLength() {
             consumeWhiteSpace();
@@ -924,42 +1269,11 @@ public class TextWire implements Wire, InternalWireIn {
             }
         }
 
-        private long readLengthMarshable() {
-            long start = bytes.position();
-            try {
-                consumeWhiteSpace();
-                int code = readCode();
-                switch (code) {
-                    case '{': {
-                        int count = 1;
-                        for (; ; ) {
-                            byte b = bytes.readByte();
-                            if (b == '{')
-                                count += 1;
-                            else if (b == '}') {
-                                count -= 1;
-                                if (count == 0)
-                                    return bytes.position() - start;
-                            }
-                            // do nothing
-                        }
-                    }
-
-                    default:
-                        // TODO needs to be made much more efficient.
-                        bytes();
-                        return bytes.position() - start;
-                }
-            } finally {
-                bytes.position(start);
-            }
-        }
-
         @NotNull
         @Override
         public Wire uint8(@NotNull ShortConsumer i) {
             consumeWhiteSpace();
-            i.accept((short) bytes.parseLong());
+            i.accept((short) parseLong());
             return TextWire.this;
         }
 
@@ -967,7 +1281,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int16(@NotNull ShortConsumer i) {
             consumeWhiteSpace();
-            i.accept((short) bytes.parseLong());
+            i.accept((short) parseLong());
             return TextWire.this;
         }
 
@@ -975,7 +1289,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire uint16(@NotNull IntConsumer i) {
             consumeWhiteSpace();
-            i.accept((int) bytes.parseLong());
+            i.accept((int) parseLong());
             return TextWire.this;
         }
 
@@ -983,7 +1297,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int32(@NotNull IntConsumer i) {
             consumeWhiteSpace();
-            i.accept((int) bytes.parseLong());
+            i.accept((int) parseLong());
             return TextWire.this;
         }
 
@@ -991,7 +1305,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire uint32(@NotNull LongConsumer i) {
             consumeWhiteSpace();
-            i.accept(bytes.parseLong());
+            i.accept(parseLong());
             return TextWire.this;
         }
 
@@ -999,7 +1313,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire int64(@NotNull LongConsumer i) {
             consumeWhiteSpace();
-            i.accept(bytes.parseLong());
+            i.accept(parseLong());
             return TextWire.this;
         }
 
@@ -1007,7 +1321,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire float32(@NotNull FloatConsumer v) {
             consumeWhiteSpace();
-            v.accept((float) bytes.parseDouble());
+            v.accept((float) parseDouble());
             return TextWire.this;
         }
 
@@ -1015,7 +1329,7 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public Wire float64(@NotNull DoubleConsumer v) {
             consumeWhiteSpace();
-            v.accept(bytes.parseDouble());
+            v.accept(parseDouble());
             return TextWire.this;
         }
 
@@ -1051,7 +1365,8 @@ public class TextWire implements Wire, InternalWireIn {
 
         @Override
         public boolean hasNext() {
-            return bytes.remaining() > 0;
+            consumeWhiteSpace();
+            return !isEndOfScope();
         }
 
         @Override
@@ -1087,6 +1402,71 @@ public class TextWire implements Wire, InternalWireIn {
             return TextWire.this;
         }
 
+        @Override
+        public int array(@NotNull int[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                long value = parseLong();
+                if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE)
+                    throw new IllegalStateException("value=" + value + ", is greater or less than Integer.MAX_VALUE/MIN_VALUE");
+                if (count < using.length)
+                    using[count] = (int) value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull long[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                long value = parseLong();
+                if (count < using.length)
+                    using[count] = value;
+            }
+            return count;
+        }
+
+        @Override
+        public int array(@NotNull double[] using) {
+            startArray();
+            int count = 0;
+            for (; hasNextArrayValue(); count++) {
+                double value = parseDouble();
+                if (count < using.length)
+                    using[count] = value;
+            }
+            return count;
+        }
+
+        private void startArray() {
+            consumeWhiteSpace();
+            int code = readCode();
+            if (code != '[')
+                throw new IORuntimeException("Unsupported type " + (char) code + " (" + code + ")");
+        }
+
+        /**
+         * @return false if the closing ] has been read.
+         */
+        private boolean hasNextArrayValue() {
+            consumeWhiteSpace();
+            int code = peekCode();
+            if (code == ',') {
+                bytes.skip(1);
+                consumeWhiteSpace();
+                code = peekCode();
+            }
+            if (code == ']') {
+                bytes.skip(1);
+                return false;
+            }
+            if ((code < '0' || code > '9') && code != '-' && code != '+' && code != '.' && code != 'N' && code != 'I')
+                throw new IORuntimeException("Expected a number or ] but got " + (char) code + " (" + code + ")");
+            return true;
+        }
+
         @Override
         public WireIn int64(LongValue value, @NotNull Consumer<LongValue> setter) {
             consumeWhiteSpace();
@@ -1094,7 +1474,7 @@ public class TextWire implements Wire, InternalWireIn {
                 setter.accept(value = new TextLongReference());
             }
             Byteable b = (Byteable) value;
-            long length = b.maxSize();
+            long length = TextLongReference.length(bytes, bytes.position());
             b.bytesStore(bytes, bytes.position(), length);
             bytes.skip(length);
             consumeWhiteSpace();
@@ -1131,6 +1511,7 @@ public class TextWire implements Wire, InternalWireIn {
             code = peekCode();
             if (code != ']')
                 throw new IORuntimeException("Expected a ] but got " + (char) code + " (" + code + ")");
+            bytes.skip(1);
 
             return TextWire.this;
         }
@@ -1141,20 +1522,22 @@ public class TextWire implements Wire, InternalWireIn {
             int code = peekCode();
             if (code != '{')
                 throw new IORuntimeException("Unsupported type " + (char) code);
-
-            final long len = readLengthMarshable() - 1;
+            bytes.skip(1);
 
             final long limit = bytes.limit();
-            final long position = bytes.position();
-
+            final long scopeStart0 = scopeStart;
+            depth++;
             try {
-                // ensure that you can read past the end of this marshable object
-                final long newLimit = position - 1 + len;
-                bytes.limit(newLimit);
-                bytes.skip(1); // skip the {
                 consumeWhiteSpace();
-                return marshallableReader.apply(TextWire.this);
+                scopeStart = bytes.position();
+                startScope();
+                T t = marshallableReader.apply(TextWire.this);
+                bytes.limit(limit);
+                skipToEndOfScope();
+                return t;
             } finally {
+                depth--;
+                scopeStart = scopeStart0;
                 bytes.limit(limit);
 
                 consumeWhiteSpace();
@@ -1196,27 +1579,31 @@ public class TextWire implements Wire, InternalWireIn {
         public WireIn marshallable(@NotNull ReadMarshallable object) {
             consumeWhiteSpace();
             int code = peekCode();
-            if (code == '!')
+            if (code == '!') {
                 type(Wires.acquireStringBuilder());
-            else if (code != '{')
+                consumeWhiteSpace();
+                code = peekCode();
+            }
+            if (code != '{')
                 throw new IORuntimeException("Unsupported type " + (char) code);
+            bytes.skip(1);
 
-            final long len = readLengthMarshable() - 1;
-
+            // the nesting is tracked as the fields are read rather than finding the closing } first.
             final long limit = bytes.limit();
-            final long position = bytes.position();
-
-            final long newLimit = position - 1 + len;
+            final long scopeStart0 = scopeStart;
+            depth++;
             try {
-                // ensure that you can read past the end of this marshable object
-
-                bytes.limit(newLimit);
-                bytes.skip(1); // skip the {
                 consumeWhiteSpace();
+                scopeStart = bytes.position();
+                startScope();
                 object.readMarshallable(TextWire.this);
+                // a missing field may have limited the bytes to the end of this marshallable.
+                bytes.limit(limit);
+                skipToEndOfScope();
             } finally {
+                depth--;
+                scopeStart = scopeStart0;
                 bytes.limit(limit);
-                bytes.position(newLimit);
             }
 
             consumeWhiteSpace();
@@ -1338,17 +1725,44 @@ public class TextWire implements Wire, InternalWireIn {
         @Override
         public long int64() {
             consumeWhiteSpace();
-            return bytes.parseLong();
+            return parseLong();
+        }
+
+        private long parseLong() {
+            long l = Decimals.parseLong(bytes);
+            skipSeparator();
+            return l;
+        }
+
+        private double parseDouble() {
+            double d = Decimals.parseDouble(bytes);
+            skipSeparator();
+            return d;
+        }
+
+        // consume the space or comma after a number as Bytes.parseLong() does, but not the end of a marshallable.
+        private void skipSeparator() {
+            int ch = peekCode();
+            if (ch == ',' || (ch >= 0 && Character.isWhitespace(ch)))
+                bytes.skip(1);
         }
 
         @Override
         public double float64() {
-            throw new UnsupportedOperationException("todo");
+            consumeWhiteSpace();
+            return parseDouble();
+        }
+
+        @Override
+        public long fixed(int scale) {
+            consumeWhiteSpace();
+            return Decimals.parse(bytes, scale);
         }
 
         @Override
         public float float32() {
-            throw new UnsupportedOperationException("todo");
+            consumeWhiteSpace();
+            return (float) parseDouble();
         }
 
         /**
@@ -1377,9 +1791,6 @@ public class TextWire implements Wire, InternalWireIn {
             if (isNull())
                 return null;
 
-            if (byte[].class.isAssignableFrom(clazz))
-                return (E) bytes();
-
             if (Marshallable.class.isAssignableFrom(clazz)) {
                 final E v;
                 if (using == null)
@@ -1389,58 +1800,8 @@ public class TextWire implements Wire, InternalWireIn {
 
                 valueIn.marshallable((Marshallable) v);
                 return v;
-
-            } else if (StringBuilder.class.isAssignableFrom(clazz)) {
-                StringBuilder builder = (using == null)
-                        ? Wires.acquireStringBuilder()
-                        : (StringBuilder) using;
-                valueIn.textTo(builder);
-                return using;
-
-            } else if (CharSequence.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) valueIn.text();
-
-            } else if (Long.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Long) valueIn.int64();
-
-            } else if (Double.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Double) valueIn.float64();
-
-            } else if (Integer.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Integer) valueIn.int32();
-
-            } else if (Float.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Float) valueIn.float32();
-
-            } else if (Short.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Short) valueIn.int16();
-
-            } else if (Character.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                final String text = valueIn.text();
-                if (text == null || text.length() == 0)
-                    return null;
-                return (E) (Character) text.charAt(0);
-
-            } else if (Byte.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                return (E) (Byte) valueIn.int8();
-
-            } else if (Map.class.isAssignableFrom(clazz)) {
-                //noinspection unchecked
-                final Map result = new HashMap();
-                valueIn.map(result);
-                return (E) result;
-
-            } else {
-                throw new IllegalStateException("unsupported type=" + clazz);
             }
+            return Wires.readObject(valueIn, using, clazz);
         }
     }
 
@@ -1453,6 +1814,12 @@ public class TextWire implements Wire, InternalWireIn {
                 // two character stop.
                 return (ch == ':' || ch == ',') && ch2 <= ' ';
             }
+        },
+        END_OF_NESTED_TEXT {
+            @Override
+            public boolean isStopChar(int ch, int ch2) throws IllegalStateException {
+                return ch == '}' || END_OF_TEXT.isStopChar(ch, ch2);
+            }
         }
     }
 }
@@ -18,8 +18,6 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
-import net.openhft.chronicle.bytes.IORuntimeException;
-import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.values.IntValue;
 import net.openhft.chronicle.core.values.LongArrayValues;
 import net.openhft.chronicle.core.values.LongValue;
@@ -59,6 +57,16 @@ public interface ValueIn {
     @Nullable
     <ACS extends Appendable & CharSequence> ACS textTo(@NotNull ACS s);
 
+    /**
+     * Read text without copying it where the wire supports this, otherwise into a reused StringBuilder.
+     *
+     * @return the text, or null, which is only valid until the next read.
+     */
+    @Nullable
+    default CharSequence textView() {
+        return textTo(Wires.ASBP.acquireStringBuilder());
+    }
+
     @NotNull
     WireIn int8(@NotNull ByteConsumer i);
 
@@ -78,6 +86,12 @@ public interface ValueIn {
      */
     long readLength();
 
+    /**
+     * skip over the next value without decoding it, using its length where known.
+     */
+    @NotNull
+    WireIn skipValue();
+
     @NotNull
     WireIn uint8(@NotNull ShortConsumer i);
 
@@ -121,6 +135,18 @@ public interface ValueIn {
 
     WireIn int64(@Nullable LongValue value, @NotNull Consumer<LongValue> setter);
 
+    /**
+     * Read an array value into the array provided.
+     *
+     * @return the number of values in the array; if this is more than using.length, only the first using.length
+     * values are copied and the rest are skipped.
+     */
+    int array(@NotNull int[] using);
+
+    int array(@NotNull long[] using);
+
+    int array(@NotNull double[] using);
+
     WireIn int32(@Nullable IntValue value, @NotNull Consumer<IntValue> setter);
 
     WireIn sequence(@NotNull Consumer<ValueIn> reader);
@@ -129,25 +155,15 @@ public interface ValueIn {
 
     @NotNull
     default ReadMarshallable typedMarshallable() {
-        try {
-            StringBuilder sb = Wires.acquireStringBuilder();
-            type(sb);
-
-            // its possible that the object that you are allocating may not have a
-            // default constructor
-            final Class clazz = (Class) Class.forName(sb.toString());
-
-            if (!Marshallable.class.isAssignableFrom(clazz))
-                throw new IllegalStateException("its not possible to Marshallable and object that" +
-                        " is not of type Marshallable, type=" + sb);
-
-            final ReadMarshallable m = OS.memory().allocateInstance((Class<ReadMarshallable>) clazz);
+        return Wires.readTypedMarshallable(this, null);
+    }
 
-            marshallable(m);
-            return m;
-        } catch (Exception e) {
-            throw new IORuntimeException(e);
-        }
+    /**
+     * Read a typed marshallable into an instance from the pool, which the caller can release when done with it.
+     */
+    @NotNull
+    default ReadMarshallable typedMarshallable(@NotNull MarshallablePool pool) {
+        return Wires.readTypedMarshallable(this, pool);
     }
 
     @NotNull
@@ -193,6 +209,14 @@ public interface ValueIn {
 
     double float64();
 
+    /**
+     * Read a decimal value as a mantissa with scale decimal places, e.g. 101.25 as 10125 for a scale of 2.
+     *
+     * @throws ArithmeticException if the value has more than scale decimal places or the mantissa doesn't fit in a
+     *                             long.
+     */
+    long fixed(int scale);
+
     float float32();
 
     default Throwable throwable(boolean appendCurrentStack) {
@@ -209,6 +233,18 @@ public interface ValueIn {
         return Wires.readObject(this, using, clazz);
     }
 
+    /**
+     * Read an object, into an instance from the pool if it is a Marshallable.
+     */
+    default <E> E object(@NotNull Class<E> clazz, @NotNull MarshallablePool pool) {
+        return object(Marshallable.class.isAssignableFrom(clazz) ? pool.acquire(clazz) : null, clazz);
+    }
+
     Consumer<ValueIn> DISCARD = v -> {
     };
+
+    /**
+     * read past the value with {@link #skipValue()}, unlike DISCARD which leaves it unread.
+     */
+    Consumer<ValueIn> SKIP = ValueIn::skipValue;
 }
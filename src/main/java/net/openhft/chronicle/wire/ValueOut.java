@@ -91,10 +91,32 @@ public interface ValueOut {
 
     WireOut int64array(long capacity);
 
+    /**
+     * Write an array of longs for binding, optionally with each value in its own cache line, aligned where the wire
+     * supports it. Wires which can't pad write a dense array.
+     */
+    default WireOut int64array(long capacity, boolean padded) {
+        return int64array(capacity);
+    }
+
+    /**
+     * Write length values from offset as a single array value, packed where the wire supports it.
+     */
+    WireOut array(int[] array, int offset, int length);
+
+    WireOut array(long[] array, int offset, int length);
+
+    WireOut array(double[] array, int offset, int length);
+
     WireOut float32(float f);
 
     WireOut float64(double d);
 
+    /**
+     * Write the decimal mantissa / 10^scale exactly, e.g. a price of 101.25 as fixed(10125, 2).
+     */
+    WireOut fixed(long mantissa, int scale);
+
     WireOut time(LocalTime localTime);
 
     WireOut zonedDateTime(ZonedDateTime zonedDateTime);
@@ -132,7 +154,7 @@ public interface ValueOut {
     ValueOut leaf();
 
     default WireOut typedMarshallable(WriteMarshallable object) {
-        type(object.getClass().getName());
+        type(ClassAliases.nameFor(object.getClass()));
         return marshallable(object);
     }
 
@@ -142,39 +164,18 @@ public interface ValueOut {
     }
 
     default WireOut object(Object value) {
-        if (value instanceof byte[])
-            return rawBytes((byte[]) value);
         if (value == null)
             return text(null);
-        if (value instanceof Map)
-            return map((Map) value);
-        if (value instanceof Byte)
-            return int8((Byte) value);
-        else if (value instanceof Character)
-            return text(value.toString());
-        else if (value instanceof Short)
-            return int16((Short) value);
-        else if (value instanceof Integer)
-            return int32((Integer) value);
-        else if (value instanceof Long)
-            return int64((Long) value);
-        else if (value instanceof CharSequence) {
-            return text((CharSequence) value);
-
-        } else if (value instanceof Marshallable) {
-            return marshallable((Marshallable) value);
-        } else if (value instanceof Throwable) {
-            return throwable((Throwable) value);
-
-        } else {
+        ObjectHandlers.Writer<Object> writer = ObjectHandlers.writerFor(value.getClass());
+        if (writer == null)
             throw new IllegalStateException("type=" + value.getClass() +
                     " is unsupported, it must either be of type Marshallable, String or " +
                     "AutoBoxed primitive Object");
-        }
+        return writer.write(this, value);
     }
 
     default WireOut throwable(Throwable t) {
-        typedMarshallable(t.getClass().getName(), (WireOut w) ->
+        typedMarshallable(ClassAliases.nameFor(t.getClass()), (WireOut w) ->
                 w.write(() -> "message").text(t.getMessage())
                         .write(() -> "stackTrace").sequence(w3 -> {
                     StackTraceElement[] stes = t.getStackTrace();
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a reader waits for the next document to be ready, trading CPU for how soon it wakes up.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+    /**
+     * Burn a core to see a document as soon as it is written.
+     */
+    WaitStrategy BUSY_SPIN = attempt -> SpinWait.onSpinWait();
+    /**
+     * Give the core to other threads between checks.
+     */
+    WaitStrategy YIELD = attempt -> Thread.yield();
+    /**
+     * Spin, then yield, then park for up to a millisecond.
+     */
+    WaitStrategy BACKOFF = backoff(100, 100, TimeUnit.MILLISECONDS.toNanos(1));
+
+    /**
+     * Spin for spins attempts, yield for yields more, then park, doubling from a microsecond up to maxParkNanos.
+     */
+    static WaitStrategy backoff(int spins, int yields, long maxParkNanos) {
+        return attempt -> {
+            if (attempt < spins) {
+                SpinWait.onSpinWait();
+            } else if (attempt < spins + yields) {
+                Thread.yield();
+            } else {
+                int doublings = Math.min(attempt - spins - yields, 30);
+                LockSupport.parkNanos(Math.min(maxParkNanos, 1000L << doublings));
+            }
+        };
+    }
+
+    /**
+     * Wait once before checking again.
+     *
+     * @param attempt the number of times in a row nothing was ready, from 0.
+     */
+    void idle(int attempt);
+}
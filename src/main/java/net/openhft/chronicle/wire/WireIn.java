@@ -21,6 +21,7 @@ import net.openhft.chronicle.bytes.Bytes;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -80,4 +81,25 @@ public interface WireIn {
                                  @Nullable Consumer<WireIn> dataConsumer) {
         return Wires.readData(position, this, metaDataConsumer, dataConsumer);
     }
+
+    /**
+     * Read up to maxCount data documents in one pass, stopping at the first which isn't ready.
+     *
+     * @return the number of data documents read.
+     */
+    default int readDocuments(int maxCount, @NotNull Consumer<WireIn> dataConsumer) {
+        return Wires.readDocuments(this, maxCount, null, dataConsumer);
+    }
+
+    /**
+     * Wait for the next data document using waitStrategy, e.g. when tailing a buffer other threads write to.
+     *
+     * @return true if a data document was read, false on timeout.
+     */
+    default boolean readDocument(@Nullable Consumer<WireIn> metaDataConsumer,
+                                 @NotNull Consumer<WireIn> dataConsumer,
+                                 @NotNull WaitStrategy waitStrategy,
+                                 long timeout, @NotNull TimeUnit unit) {
+        return Wires.readData(this, metaDataConsumer, dataConsumer, waitStrategy, unit.toNanos(timeout));
+    }
 }
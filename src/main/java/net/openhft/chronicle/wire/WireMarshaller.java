@@ -0,0 +1,374 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.core.util.StringUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes and reads the fields of a class one at a time, named after the field, without a hand written
+ * writeMarshallable or readMarshallable. The fields are found once per class, and each has a typed accessor with a
+ * MethodHandle getter and setter, so a primitive is written with e.g. ValueOut.int64 without boxing or reflection.
+ * <p>
+ * Static, transient and synthetic fields, such as the reference to the outer instance of an inner class, are
+ * skipped. Fields which are not primitives, text or enums are written with ValueOut.object and read with
+ * ValueIn.object.
+ */
+public class WireMarshaller<T> {
+    private static final Map<Class<?>, WireMarshaller<?>> MARSHALLERS = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final FieldAccess[] fields;
+
+    WireMarshaller(@NotNull Class<T> clazz) {
+        List<FieldAccess> list = new ArrayList<>();
+        addFields(clazz, list);
+        fields = list.toArray(new FieldAccess[list.size()]);
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public static <T> WireMarshaller<T> of(@NotNull Class<T> clazz) {
+        return (WireMarshaller<T>) MARSHALLERS.computeIfAbsent(clazz, WireMarshaller::new);
+    }
+
+    private static void addFields(@NotNull Class<?> clazz, @NotNull List<FieldAccess> list) {
+        if (clazz == Object.class)
+            return;
+        // fields of the super class come first.
+        addFields(clazz.getSuperclass(), list);
+        for (Field field : clazz.getDeclaredFields()) {
+            if ((field.getModifiers() & (Modifier.STATIC | Modifier.TRANSIENT)) != 0 || field.isSynthetic())
+                continue;
+            list.add(FieldAccess.of(field));
+        }
+    }
+
+    public void writeMarshallable(@NotNull T t, @NotNull WireOut out) {
+        try {
+            for (FieldAccess field : fields)
+                field.write(t, out.write(field));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    public void readMarshallable(@NotNull T t, @NotNull WireIn in) {
+        try {
+            for (FieldAccess field : fields)
+                field.read(t, in.read(field));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    abstract static class FieldAccess implements WireKey {
+        final String name;
+        final int code;
+        // typed as (Object) type and (Object, type) void, so invokeExact needs no cast of the instance.
+        final MethodHandle getter;
+        final MethodHandle setter;
+
+        FieldAccess(@NotNull Field field) {
+            name = field.getName();
+            code = name.hashCode();
+            Class<?> type = field.getType().isPrimitive() ? field.getType() : Object.class;
+            field.setAccessible(true);
+            try {
+                getter = LOOKUP.unreflectGetter(field)
+                        .asType(MethodType.methodType(type, Object.class));
+                setter = LOOKUP.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, type));
+            } catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @NotNull
+        static FieldAccess of(@NotNull Field field) {
+            Class<?> type = field.getType();
+            if (type.isPrimitive()) {
+                if (type == boolean.class)
+                    return new BooleanFieldAccess(field);
+                if (type == byte.class)
+                    return new ByteFieldAccess(field);
+                if (type == short.class)
+                    return new ShortFieldAccess(field);
+                if (type == char.class)
+                    return new CharFieldAccess(field);
+                if (type == int.class)
+                    return new IntFieldAccess(field);
+                if (type == long.class)
+                    return new LongFieldAccess(field);
+                if (type == float.class)
+                    return new FloatFieldAccess(field);
+                return new DoubleFieldAccess(field);
+            }
+            if (type == String.class)
+                return new StringFieldAccess(field);
+            if (type == StringBuilder.class)
+                return new StringBuilderFieldAccess(field);
+            if (type.isEnum())
+                return new EnumFieldAccess(field);
+            return new ObjectFieldAccess(field);
+        }
+
+        @Override
+        public CharSequence name() {
+            return name;
+        }
+
+        @Override
+        public int code() {
+            return code;
+        }
+
+        abstract void write(Object o, ValueOut out) throws Throwable;
+
+        abstract void read(Object o, ValueIn in) throws Throwable;
+    }
+
+    static class BooleanFieldAccess extends FieldAccess {
+        BooleanFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.bool((boolean) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.bool());
+        }
+    }
+
+    static class ByteFieldAccess extends FieldAccess {
+        ByteFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.int8((byte) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.int8());
+        }
+    }
+
+    static class ShortFieldAccess extends FieldAccess {
+        ShortFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.int16((short) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.int16());
+        }
+    }
+
+    static class CharFieldAccess extends FieldAccess {
+        CharFieldAccess(Field field) {
+            super(field);
+        }
+
+        // as text, the same as a Character.
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.text(String.valueOf((char) getter.invokeExact(o)));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            CharSequence text = in.textView();
+            setter.invokeExact(o, text == null || text.length() == 0 ? '\0' : text.charAt(0));
+        }
+    }
+
+    static class IntFieldAccess extends FieldAccess {
+        IntFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.int32((int) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.int32());
+        }
+    }
+
+    static class LongFieldAccess extends FieldAccess {
+        LongFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.int64((long) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.int64());
+        }
+    }
+
+    static class FloatFieldAccess extends FieldAccess {
+        FloatFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.float32((float) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.float32());
+        }
+    }
+
+    static class DoubleFieldAccess extends FieldAccess {
+        DoubleFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.float64((double) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.float64());
+        }
+    }
+
+    static class StringFieldAccess extends FieldAccess {
+        StringFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.text((String) (Object) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, (Object) in.text());
+        }
+    }
+
+    static class StringBuilderFieldAccess extends FieldAccess {
+        StringBuilderFieldAccess(Field field) {
+            super(field);
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.text((StringBuilder) (Object) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            // read into the StringBuilder already there if there is one.
+            StringBuilder sb = (StringBuilder) (Object) getter.invokeExact(o);
+            if (sb == null)
+                sb = new StringBuilder();
+            setter.invokeExact(o, (Object) in.textTo(sb));
+        }
+    }
+
+    static class EnumFieldAccess extends FieldAccess {
+        private final Enum<?>[] values;
+
+        EnumFieldAccess(Field field) {
+            super(field);
+            values = (Enum<?>[]) field.getType().getEnumConstants();
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            Enum<?> e = (Enum<?>) (Object) getter.invokeExact(o);
+            out.text(e == null ? null : e.name());
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            StringBuilder sb = in.textTo(Wires.acquireStringBuilder());
+            setter.invokeExact(o, (Object) (sb == null ? null : valueOf(sb)));
+        }
+
+        @NotNull
+        private Enum<?> valueOf(@NotNull CharSequence cs) {
+            for (Enum<?> e : values)
+                if (StringUtils.isEqual(e.name(), cs))
+                    return e;
+            throw new IllegalArgumentException("No " + name + " value " + cs);
+        }
+    }
+
+    static class ObjectFieldAccess extends FieldAccess {
+        private final Class<Object> type;
+
+        @SuppressWarnings("unchecked")
+        ObjectFieldAccess(Field field) {
+            super(field);
+            type = (Class<Object>) field.getType();
+        }
+
+        @Override
+        void write(Object o, ValueOut out) throws Throwable {
+            out.object((Object) getter.invokeExact(o));
+        }
+
+        @Override
+        void read(Object o, ValueIn in) throws Throwable {
+            setter.invokeExact(o, in.object((Object) getter.invokeExact(o), type));
+        }
+    }
+}
@@ -23,7 +23,7 @@ public interface WireParser {
     WireKey DEFAULT = () -> ":default:";
 
     static WireParser wireParser() {
-        return new VanillaWireParser();
+        return new HashWireParser();
     }
 
     default void parse(WireIn wireIn) {
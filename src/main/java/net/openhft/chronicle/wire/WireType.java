@@ -17,9 +17,101 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
 /**
+ * A factory for each of the wire formats.
+ * <p>
+ * apply(bytes) creates a new wire, acquireWire(bytes) rebinds a wire held per thread so a wire is only allocated once
+ * per thread and per type.
+ * <p>
  * Created by peter.lawrey on 15/01/15.
  */
-public enum WireType {
-    ;
+public enum WireType implements Function<Bytes, Wire> {
+    TEXT {
+        @NotNull
+        @Override
+        public Wire apply(@NotNull Bytes bytes) {
+            return new TextWire(bytes);
+        }
+
+        @Override
+        void rebind(@NotNull Wire wire, @NotNull Bytes bytes) {
+            ((TextWire) wire).bytes(bytes);
+        }
+    },
+    BINARY {
+        @NotNull
+        @Override
+        public Wire apply(@NotNull Bytes bytes) {
+            return new BinaryWire(bytes);
+        }
+
+        @Override
+        void rebind(@NotNull Wire wire, @NotNull Bytes bytes) {
+            ((BinaryWire) wire).bytes(bytes);
+        }
+    },
+    FIELDLESS_BINARY {
+        @NotNull
+        @Override
+        public Wire apply(@NotNull Bytes bytes) {
+            return new BinaryWire(bytes, false, false, true);
+        }
+
+        @Override
+        void rebind(@NotNull Wire wire, @NotNull Bytes bytes) {
+            ((BinaryWire) wire).bytes(bytes);
+        }
+    },
+    RAW {
+        @NotNull
+        @Override
+        public Wire apply(@NotNull Bytes bytes) {
+            return new RawWire(bytes);
+        }
+
+        @Override
+        void rebind(@NotNull Wire wire, @NotNull Bytes bytes) {
+            ((RawWire) wire).bytes(bytes);
+        }
+    },
+    QUERY {
+        @NotNull
+        @Override
+        public Wire apply(@NotNull Bytes bytes) {
+            return new QueryWire(bytes);
+        }
+
+        @Override
+        void rebind(@NotNull Wire wire, @NotNull Bytes bytes) {
+            ((QueryWire) wire).bytes(bytes);
+        }
+    };
+
+    private final ThreadLocal<Wire> wireTL = new ThreadLocal<>();
+
+    abstract void rebind(@NotNull Wire wire, @NotNull Bytes bytes);
+
+    /**
+     * Obtain the wire for this thread bound to bytes. The wire returned is only valid until the next call to
+     * acquireWire for this type on the same thread.
+     *
+     * @param bytes to read from or write to.
+     * @return the wire for this thread.
+     */
+    @NotNull
+    public Wire acquireWire(@NotNull Bytes bytes) {
+        Wire wire = wireTL.get();
+        if (wire == null) {
+            wireTL.set(wire = apply(bytes));
+
+        } else {
+            rebind(wire, bytes);
+        }
+        return wire;
+    }
 }
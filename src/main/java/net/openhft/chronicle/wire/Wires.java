@@ -18,6 +18,8 @@
 package net.openhft.chronicle.wire;
 
 import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesStore;
+import net.openhft.chronicle.bytes.IORuntimeException;
 import net.openhft.chronicle.core.Jvm;
 import net.openhft.chronicle.core.OS;
 import net.openhft.chronicle.core.pool.StringBuilderPool;
@@ -25,10 +27,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
 import static net.openhft.chronicle.wire.BinaryWire.toIntU30;
@@ -75,11 +76,68 @@ public enum Wires {
         long position = bytes.position();
         int metaDataBit = metaData ? META_DATA : 0;
         bytes.writeOrderedInt(metaDataBit | NOT_READY | UNKNOWN_LENGTH);
+        writeBody(wireOut, position, metaDataBit, writer);
+    }
+
+    /**
+     * Write a document where other threads may be writing documents to the same memory through their own Bytes.
+     * <p>
+     * The header at the position of the wire, or after the documents which follow it, is claimed by CAS-ing it from 0
+     * to NOT_READY, so readers see the same framing as writeData.
+     *
+     * @return the position of the header of this document.
+     * @throws BufferOverflowException  if there is no free header before the limit.
+     * @throws IllegalArgumentException if the document is empty, as its header would be 0 and could be claimed again.
+     */
+    public static long writeDataConcurrently(WireOut wireOut, boolean metaData, Consumer<WireOut> writer) {
+        Bytes bytes = wireOut.bytes();
+        int metaDataBit = metaData ? META_DATA : 0;
+        long position = claimHeader(bytes, bytes.position(), bytes.limit() - 4, metaDataBit | NOT_READY | UNKNOWN_LENGTH);
+        if (position < 0)
+            throw new BufferOverflowException();
+        bytes.position(position + 4);
+        writeBody(wireOut, position, metaDataBit, writer);
+        if (bytes.position() == position + 4 && !metaData)
+            throw new IllegalArgumentException("Cannot write an empty document");
+        return position;
+    }
+
+    private static void writeBody(WireOut wireOut, long position, int metaDataBit, Consumer<WireOut> writer) {
+        Bytes bytes = wireOut.bytes();
         writer.accept(wireOut);
         int length = metaDataBit | toIntU30(bytes.position() - position - 4, "Document length %,d out of 30-bit int range.");
         bytes.writeOrderedInt(position, length);
     }
 
+    /**
+     * CAS the first free header from position on to claimed, skipping documents and waiting for those still being
+     * written.
+     *
+     * @return the position claimed, or ~position of the first header after lastPosition or of a header which is not
+     * ready but has a length, which writeData never writes.
+     */
+    static long claimHeader(BytesStore store, long position, long lastPosition, int claimed) {
+        while (true) {
+            if (position > lastPosition)
+                return ~position;
+            int header = store.readVolatileInt(position);
+            if (header == 0) {
+                if (store.compareAndSwapInt(position, 0, claimed))
+                    return position;
+
+            } else if (lengthOf(header) == UNKNOWN_LENGTH) {
+                // claimed by another writer which hasn't finished.
+                Thread.yield();
+
+            } else if (isReady(header)) {
+                position += 4 + lengthOf(header);
+
+            } else {
+                return ~position;
+            }
+        }
+    }
+
     public static boolean readData(long offset,
                                    @NotNull WireIn wireIn,
                                    @Nullable Consumer<WireIn> metaDataConsumer,
@@ -106,7 +164,7 @@ public enum Wires {
         while (bytes.remaining() >= 4) {
             long position = bytes.position();
             int header = bytes.readVolatileInt(position);
-            if (!isKnownLength(header))
+            if (!isKnownLength(header) || !isReady(header) && lengthOf(header) == UNKNOWN_LENGTH)
                 return read;
             bytes.skip(4);
             final boolean ready = isReady(header);
@@ -136,6 +194,73 @@ public enum Wires {
         return read;
     }
 
+    /**
+     * Read up to maxCount consecutive data documents in one pass, skipping meta-data unless there is a consumer for
+     * it, and stopping before the first header which isn't ready.
+     *
+     * @return the number of data documents read.
+     */
+    public static int readDocuments(@NotNull WireIn wireIn,
+                                    int maxCount,
+                                    @Nullable Consumer<WireIn> metaDataConsumer,
+                                    @NotNull Consumer<WireIn> dataConsumer) {
+        final Bytes bytes = wireIn.bytes();
+        final long limit = bytes.limit();
+        ((InternalWireIn) wireIn).setReady(true);
+        int count = 0;
+        try {
+            long position = bytes.position();
+            while (count < maxCount && position + 4 <= limit) {
+                int header = bytes.readVolatileInt(position);
+                if (header == 0 || !isReady(header))
+                    break;
+                long start = position + 4;
+                long end = start + lengthOf(header);
+                if (isData(header)) {
+                    bytes.limit(end);
+                    bytes.position(start);
+                    dataConsumer.accept(wireIn);
+                    bytes.limit(limit);
+                    count++;
+
+                } else if (metaDataConsumer != null) {
+                    bytes.limit(end);
+                    bytes.position(start);
+                    metaDataConsumer.accept(wireIn);
+                    bytes.limit(limit);
+                }
+                position = end;
+            }
+            bytes.position(position);
+            return count;
+        } finally {
+            bytes.limit(limit);
+        }
+    }
+
+    /**
+     * Read the next data document, and any meta-data before it, calling waitStrategy while it isn't ready.
+     *
+     * @return true if a data document was read, false if none was ready within timeoutNanos.
+     */
+    public static boolean readData(@NotNull WireIn wireIn,
+                                   @Nullable Consumer<WireIn> metaDataConsumer,
+                                   @NotNull Consumer<WireIn> dataConsumer,
+                                   @NotNull WaitStrategy waitStrategy,
+                                   long timeoutNanos) {
+        long deadline = 0;
+        for (int attempt = 0; ; attempt++) {
+            if (readDocuments(wireIn, 1, metaDataConsumer, dataConsumer) > 0)
+                return true;
+            // only read the clock once it has to wait.
+            if (attempt == 0)
+                deadline = System.nanoTime() + timeoutNanos;
+            else if (System.nanoTime() - deadline >= 0)
+                return false;
+            waitStrategy.idle(attempt);
+        }
+    }
+
     public static String fromSizePrefixedBlobs(Bytes bytes) {
         long position = bytes.position();
         return fromSizePrefixedBlobs(bytes, position, bytes.remaining());
@@ -201,74 +326,35 @@ public enum Wires {
     }
 
     public static <E> E readObject(ValueIn in, E using, Class<E> clazz) {
-        if (byte[].class.isAssignableFrom(clazz))
-            return (E) in.bytes();
-
-        else if (Marshallable.class.isAssignableFrom(clazz)) {
-            final E v;
-            if (using == null)
-                try {
-                    v = clazz.newInstance();
-                } catch (Exception e) {
-                    throw new RuntimeException(e);
-                }
-            else
-                v = using;
-
-            in.marshallable((Marshallable) v);
-            return v;
-
-        } else if (StringBuilder.class.isAssignableFrom(clazz)) {
-            StringBuilder builder = (using == null)
-                    ? acquireStringBuilder()
-                    : (StringBuilder) using;
-            in.textTo(builder);
-            return (E) builder;
-
-        } else if (CharSequence.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) in.text();
-
-        } else if (Long.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Long) in.int64();
-
-        } else if (Double.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Double) in.float64();
-
-        } else if (Integer.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Integer) in.int32();
-
-        } else if (Float.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Float) in.float32();
-
-        } else if (Short.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Short) in.int16();
-
-        } else if (Character.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            final String text = in.text();
-            if (text == null || text.length() == 0)
-                return null;
-            return (E) (Character) text.charAt(0);
-
-        } else if (Byte.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-            return (E) (Byte) in.int8();
-
-        } else if (Map.class.isAssignableFrom(clazz)) {
-            //noinspection unchecked
-
-            final HashMap result = new HashMap();
-            in.map(result);
-            return (E) result;
-
-        } else {
+        ObjectHandlers.Reader<E> reader = ObjectHandlers.readerFor(clazz);
+        if (reader == null)
             throw new IllegalStateException("unsupported type");
+        return reader.read(in, using, clazz);
+    }
+
+    @NotNull
+    static ReadMarshallable readTypedMarshallable(@NotNull ValueIn in, @Nullable MarshallablePool pool) {
+        try {
+            StringBuilder sb = acquireStringBuilder();
+            in.type(sb);
+
+            final Class<?> clazz = ClassAliases.forName(sb);
+
+            if (!Marshallable.class.isAssignableFrom(clazz))
+                throw new IllegalStateException("its not possible to Marshallable and object that" +
+                        " is not of type Marshallable, type=" + sb);
+
+            // its possible that the object that you are allocating may not have a
+            // default constructor
+            final Class<? extends ReadMarshallable> type = clazz.asSubclass(ReadMarshallable.class);
+            final ReadMarshallable m = pool == null
+                    ? OS.memory().allocateInstance(type)
+                    : pool.acquire(type);
+
+            in.marshallable(m);
+            return m;
+        } catch (Exception e) {
+            throw new IORuntimeException(e);
         }
     }
 
@@ -278,8 +364,7 @@ public enum Wires {
         String preMessage = null;
         Throwable throwable;
         try {
-            //noinspection unchecked
-            throwable = OS.memory().allocateInstance((Class<Throwable>) Class.forName(type.toString()));
+            throwable = OS.memory().allocateInstance(ClassAliases.forName(type).asSubclass(Throwable.class));
         } catch (ClassNotFoundException e) {
             preMessage = type.toString();
             throwable = new RuntimeException();
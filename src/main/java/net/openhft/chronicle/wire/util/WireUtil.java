@@ -44,13 +44,16 @@ public class WireUtil {
     public static Function<Bytes, Wire> byteToWireFor(
             @NotNull Class<? extends Wire> wireType) {
         if (TextWire.class.isAssignableFrom(wireType)) {
-            return TextWire::new;
+            return WireType.TEXT;
 
         } else if (BinaryWire.class.isAssignableFrom(wireType)) {
-            return BinaryWire::new;
+            return WireType.BINARY;
 
         } else if (RawWire.class.isAssignableFrom(wireType)) {
-            return RawWire::new;
+            return WireType.RAW;
+
+        } else if (QueryWire.class.isAssignableFrom(wireType)) {
+            return WireType.QUERY;
 
         } else {
             throw new UnsupportedOperationException("todo (byteToWireFor)");
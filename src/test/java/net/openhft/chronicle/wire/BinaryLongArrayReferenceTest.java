@@ -17,10 +17,12 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.NativeBytes;
+import net.openhft.chronicle.core.values.LongArrayValues;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class BinaryLongArrayReferenceTest {
 
@@ -41,4 +43,72 @@ public class BinaryLongArrayReferenceTest {
                 assertEquals(i + 1, array.getValueAt(i));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void paddedAtAnOffset() {
+        try (NativeBytes bytes = NativeBytes.nativeBytes(1024)) {
+            bytes.writeLong(-1L);
+            BinaryLongArrayReference.write(bytes, 4, true);
+            assertEquals(8 + 8 + 4 * 64, bytes.position());
+            bytes.writeLong(-2L);
+
+            BinaryLongArrayReference array = new BinaryLongArrayReference();
+            array.bytesStore(bytes, 8, BinaryLongArrayReference.peakLength(bytes, 8));
+            assertTrue(array.isPadded());
+            assertEquals(4, array.getCapacity());
+            for (int i = 0; i < 4; i++)
+                array.setValueAt(i, i + 1);
+            assertEquals(10, array.sum());
+            assertEquals(4, array.reduce(Long.MIN_VALUE, Math::max));
+
+            assertEquals(3, array.getValueAt(2));
+            assertEquals(3, bytes.readLong(8 + 8 + 2 * 64));
+            assertEquals(-1L, bytes.readLong(0));
+            assertEquals(-2L, bytes.readLong(8 + 8 + 4 * 64));
+        }
+    }
+
+    @Test
+    public void atomicUpdates() {
+        try (NativeBytes bytes = NativeBytes.nativeBytes(256)) {
+            BinaryLongArrayReference.write(bytes, 2);
+            BinaryLongArrayReference array = new BinaryLongArrayReference();
+            array.bytesStore(bytes, 0, BinaryLongArrayReference.peakLength(bytes, 0));
+            assertFalse(array.isPadded());
+
+            assertEquals(5, array.addValueAt(1, 5));
+            assertEquals(3, array.addValueAt(1, -2));
+            assertTrue(array.compareAndSwapValueAt(1, 3, 7));
+            assertFalse(array.compareAndSwapValueAt(1, 3, 8));
+            assertEquals(0, array.getValueAt(0));
+            assertEquals(7, array.getValueAt(1));
+        }
+    }
+
+    @Test
+    public void paddedInBinaryWire() {
+        Bytes bytes = NativeBytes.nativeBytes();
+        BinaryWire wire = new BinaryWire(bytes);
+        wire.write(() -> "a").int64(1);
+        wire.write(() -> "counters").int64array(3, true);
+        wire.write(() -> "z").int64(26);
+        wire.flip();
+
+        LongArrayValues[] values = {null};
+        assertEquals(1, wire.read(() -> "a").int64());
+        wire.read(() -> "counters").int64array(null, v -> values[0] = v);
+        assertEquals(26, wire.read(() -> "z").int64());
+
+        BinaryLongArrayReference array = (BinaryLongArrayReference) values[0];
+        assertTrue(array.isPadded());
+        assertEquals(3, array.getCapacity());
+        assertEquals(0, (array.offset() + 8) % BinaryLongArrayReference.CACHE_LINE);
+        array.addValueAt(2, 9);
+
+        wire.bytes().position(0);
+        long[] longs = new long[3];
+        wire.read(() -> "a").int64();
+        assertEquals(3, wire.read(() -> "counters").array(longs));
+        assertArrayEquals(new long[]{0, 0, 9}, longs);
+    }
+}
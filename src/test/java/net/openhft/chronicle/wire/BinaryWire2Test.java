@@ -146,4 +146,40 @@ public class BinaryWire2Test {
                             .write(() -> "value").text("value-2"));
                 }));
     }
+
+    @Test
+    public void compactLengths() {
+        Wire wire = createWire();
+        String text200 = new String(new char[200]).replace('\0', 'a');
+        wire.write(() -> "small").marshallable(w -> w.write(() -> "x").int64(1));
+        wire.write(() -> "medium").marshallable(w -> w.write(() -> "x").text(text200).write(() -> "y").text(text200));
+        wire.write(() -> "large").sequence(v -> {
+            for (int i = 0; i < 400; i++)
+                v.text(text200);
+        });
+        wire.write(() -> "bound").marshallable(w -> w.write(() -> "x").int64forBinding(1));
+        wire.flip();
+
+        // field name, code, length
+        assertEquals(BinaryWireCode.BYTES_LENGTH8, bytes.readUnsignedByte(6));
+        assertEquals(3, bytes.readUnsignedByte(7));
+        assertEquals(BinaryWireCode.BYTES_LENGTH16, bytes.readUnsignedByte(6 + 2 + 3 + 7));
+
+        wire.read(() -> "small").marshallable(r -> assertEquals(1, r.read(() -> "x").int64()));
+        wire.read(() -> "medium").marshallable(r -> {
+            assertEquals(text200, r.read(() -> "x").text());
+            assertEquals(text200, r.read(() -> "y").text());
+        });
+        int[] count = {0};
+        wire.read(() -> "large").sequence(v -> {
+            while (v.hasNextSequenceItem()) {
+                assertEquals(text200, v.text());
+                count[0]++;
+            }
+        });
+        assertEquals(400, count[0]);
+        assertEquals(BinaryWireCode.BYTES_LENGTH32, bytes.readUnsignedByte(bytes.position() + 6));
+        wire.read(() -> "bound").marshallable(r -> assertEquals(1, r.read(() -> "x").int64()));
+        assertEquals(0, bytes.remaining());
+    }
 }
@@ -20,13 +20,22 @@ package net.openhft.chronicle.wire;
 import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.bytes.NativeBytes;
 import net.openhft.chronicle.bytes.NoBytesStore;
+import net.openhft.chronicle.core.util.StringUtils;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
@@ -35,6 +44,9 @@ import java.util.stream.Stream;
 
 import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 
@@ -172,9 +184,9 @@ public class BinaryWireTest {
         // ok as blank matches anything
         wire.read(BWKey.field1);
         wire.read(BWKey.field1);
-        // not a match
+        // not a match, and field2 isn't anywhere in the document, whereas field1 could be read again.
         try {
-            wire.read(BWKey.field1);
+            wire.read(BWKey.field2);
             if (!fieldLess) fail();
         } catch (UnsupportedOperationException expected) {
             wire.read(new StringBuilder());
@@ -581,6 +593,314 @@ public class BinaryWireTest {
         assertEquals(mt2, mtB);
     }
 
+    @Test
+    public void readUnorderedFields() {
+        // without fields, values can only be read in order.
+        if (fieldLess)
+            return;
+        Wire wire = createWire();
+        UUID uuid = UUID.randomUUID();
+        for (int i = 0; i < 2; i++) {
+            long n = i;
+            wire.write(() -> "A").marshallable(w -> w
+                    .write(() -> "text").text("Hello World " + n)
+                    .write(() -> "long text").text("Long text which is more than 32 characters " + n)
+                    .write(() -> "uuid").uuid(uuid)
+                    .write(() -> "inner").marshallable(m -> m.write(BWKey.field1).int64(n).write(BWKey.field2).float64(1.5))
+                    .write(() -> "flag").bool(true)
+                    .write(() -> "date").date(LocalDate.of(2015, 4, 1))
+                    .write(() -> "number").int64(n * 1000000000L));
+        }
+        wire.flip();
+
+        for (int i = 0; i < 2; i++) {
+            long n = i;
+            wire.read(() -> "A").marshallable(r -> {
+                assertEquals(n * 1000000000L, r.read(() -> "number").int64());
+                r.read(() -> "inner").marshallable(m -> {
+                    assertEquals(1.5, m.read(BWKey.field2).float64(), 0.0);
+                    assertEquals(n, m.read(BWKey.field1).int64());
+                });
+                assertEquals("Hello World " + n, r.read(() -> "text").text());
+                r.read(() -> "uuid").uuid(u -> assertEquals(uuid, u));
+                try {
+                    r.read(BWKey.field3);
+                    fail();
+                } catch (UnsupportedOperationException expected) {
+                }
+            });
+        }
+        assertEquals(0, bytes.remaining());
+    }
+
+    @Test
+    public void readEarlierFieldAgain() {
+        if (fieldLess)
+            return;
+        Wire wire = createWire();
+        wire.write(() -> "a").int64(1)
+                .write(() -> "b").int64(2)
+                .write(() -> "c").int64(3);
+        wire.write(() -> "m").marshallable(w -> w
+                .write(() -> "a").int64(11)
+                .write(() -> "b").int64(12)
+                .write(() -> "c").int64(13));
+        wire.flip();
+
+        // a is read in order before the first field out of order.
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(3, wire.read(() -> "c").int64());
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(2, wire.read(() -> "b").int64());
+        wire.read(() -> "m").marshallable(m -> {
+            assertEquals(12, m.read(() -> "b").int64());
+            assertEquals(11, m.read(() -> "a").int64());
+            assertEquals(11, m.read(() -> "a").int64());
+            assertEquals(13, m.read(() -> "c").int64());
+            assertEquals(12, m.read(() -> "b").int64());
+        });
+    }
+
+    @Test
+    public void readNextDocumentWithoutField() {
+        if (fieldLess)
+            return;
+        Wire wire = createWire();
+        wire.write(() -> "a").int64(1)
+                .write(() -> "x").int64(10)
+                .write(() -> "b").int64(100);
+        wire.write(() -> "a").int64(2)
+                .write(() -> "b").int64(200);
+        wire.flip();
+
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(100, wire.read(() -> "b").int64());
+        assertEquals(10, wire.read(() -> "x").int64());
+        assertEquals(100, wire.read(() -> "b").int64());
+        // the second document starts with a field already read, and has no x.
+        assertEquals(2, wire.read(() -> "a").int64());
+        assertEquals(200, wire.read(() -> "b").int64());
+        wire.read(() -> "x");
+        assertEquals(0, bytes.remaining());
+    }
+
+    @Test
+    public void skipValue() {
+        Wire wire = createWire();
+        wire.writeComment("a comment");
+        wire.write(() -> "a").text("Hello");
+        wire.write(() -> "b").text("Long text which is more than 32 characters αβγ");
+        wire.write(() -> "c").text(null);
+        wire.write(() -> "d").int8((byte) -1);
+        wire.write(() -> "e").int32(1 << 20);
+        wire.write(() -> "f").int64(Long.MIN_VALUE);
+        wire.write(() -> "g").float64(1.5);
+        wire.write(() -> "h").uuid(UUID.randomUUID());
+        wire.write(() -> "i").bool(false);
+        wire.write(() -> "j").time(LocalTime.NOON);
+        wire.write(() -> "k").zonedDateTime(ZonedDateTime.now());
+        wire.write(() -> "l").type("type");
+        wire.writeValue().marshallable(w -> w.write(() -> "x").int64(1));
+        wire.write(() -> "m").sequence(v -> v.int64(1));
+        wire.write(() -> "n").bytes(new byte[10]);
+        wire.write(() -> "o").int64array(4);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 15; i++)
+            wire.read(name).skipValue();
+        assertEquals(12345, wire.read(() -> "z").int64());
+        assertEquals(0, bytes.remaining());
+    }
+
+    @Test
+    public void arrays() {
+        Wire wire = createWire();
+        int[] sizes = {100, 2000, 65535, 65536, -1};
+        long[] ids = {1, 1L << 40, -3};
+        double[] prices = {1.25, 99.5, 1e-3, -0.0};
+        wire.write(() -> "sizes").array(sizes, 1, 3);
+        wire.write(() -> "small").array(new long[]{1, 2, 3}, 0, 3);
+        wire.write(() -> "ids").array(ids, 0, ids.length);
+        wire.write(() -> "empty").array(new double[0], 0, 0);
+        wire.write(() -> "prices").array(prices, 0, prices.length);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        int[] sizes2 = new int[4];
+        assertEquals(3, wire.read(() -> "sizes").array(sizes2));
+        assertEquals("[2000, 65535, 65536, 0]", Arrays.toString(sizes2));
+        long[] small = new long[2];
+        assertEquals(3, wire.read(() -> "small").array(small));
+        assertEquals("[1, 2]", Arrays.toString(small));
+        long[] ids2 = new long[3];
+        assertEquals(3, wire.read(() -> "ids").array(ids2));
+        assertEquals(Arrays.toString(ids), Arrays.toString(ids2));
+        wire.read(() -> "empty").skipValue();
+        double[] prices2 = new double[4];
+        assertEquals(4, wire.read(() -> "prices").array(prices2));
+        assertEquals(Arrays.toString(prices), Arrays.toString(prices2));
+        assertEquals(12345, wire.read(() -> "z").int64());
+        assertEquals(0, bytes.remaining());
+    }
+
+    @Test
+    public void fixed() {
+        Wire wire = createWire();
+        wire.write(() -> "price").fixed(10125, 2);
+        wire.write(() -> "round").fixed(10100, 2);
+        wire.write(() -> "neg").fixed(-5, 3);
+        wire.write(() -> "qty").fixed(3, -6);
+        wire.write(() -> "big").fixed(Long.MAX_VALUE, 6);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+        if (!fieldLess && !numericField)
+            assertEquals(fixed
+                    ? "price: 101.25\nround: 101.00\nneg: -0.005\nqty: 3000000\nbig: 9223372036854.775807\nz: 12345\n"
+                    : "price: 101.25\nround: 101\nneg: -0.005\nqty: 3000000\nbig: 9223372036854.775807\nz: 12345\n",
+                    TextWire.asText(wire));
+
+        assertEquals(101250, wire.read(() -> "price").fixed(3));
+        assertEquals(10100, wire.read(() -> "round").fixed(2));
+        try {
+            wire.read(() -> "neg").fixed(2);
+            fail();
+        } catch (ArithmeticException expected) {
+        }
+        assertEquals(3000000, wire.read(() -> "qty").int64());
+        assertEquals(Long.MAX_VALUE / 1e6, wire.read(() -> "big").float64(), 0.0);
+        assertEquals(12345, wire.read(() -> "z").fixed(0));
+        assertEquals(0, bytes.remaining());
+    }
+
+    @Test
+    public void textView() {
+        Wire wire = createWire();
+        wire.write(() -> "a").text("EURUSD");
+        wire.write(() -> "b").text("Long text which is more than 32 characters");
+        wire.write(() -> "c").text("αβγ");
+        wire.write(() -> "d").text(null);
+        wire.write(() -> "e").int64(123);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        CharSequence a = wire.read(() -> "a").textView();
+        assertEquals(6, a.length());
+        assertTrue(StringUtils.isEqual("EURUSD", a));
+        assertEquals("EURUSD".hashCode(), HashWireParser.hash(a));
+        assertEquals("URU", a.subSequence(1, 4));
+        Map<String, Integer> symbols = new HashMap<>();
+        symbols.put("GBPUSD", 1);
+        symbols.put("EURUSD", 2);
+        assertEquals(2, (int) symbols.get(a));
+        assertEquals("Long text which is more than 32 characters", wire.read(() -> "b").textView().toString());
+        assertEquals("αβγ", wire.read(() -> "c").textView().toString());
+        assertNull(wire.read(() -> "d").textView());
+        assertEquals("123", wire.read(() -> "e").textView().toString());
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test
+    public void map() {
+        Wire wire = createWire();
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("one", 1L);
+        expected.put("big", 1L << 40);
+        expected.put("negative", -3L);
+        Map<Integer, Point> points = new LinkedHashMap<>();
+        points.put(1, new Point("a", 1));
+        points.put(2, new Point("b", 2));
+        wire.write(() -> "longs").map(expected);
+        wire.write(() -> "points").map(points);
+        wire.write(() -> "empty").map(new HashMap());
+        wire.write(() -> "none").map(null);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        Map<String, Long> actual = new LinkedHashMap<>();
+        actual.put("stale", 0L);
+        assertSame(actual, wire.read(() -> "longs").map(String.class, Long.class, actual));
+        assertEquals(expected, actual);
+        assertEquals(points, wire.read(() -> "points").map(Integer.class, Point.class, new HashMap<>()));
+        assertEquals(Collections.emptyMap(), wire.read(() -> "empty").map(String.class, Long.class, actual));
+        assertNull(wire.read(() -> "none").map(String.class, Long.class, actual));
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test
+    public void typedMap() {
+        Wire wire = createWire();
+        Map<Point, Point> expected = new LinkedHashMap<>();
+        expected.put(new Point("a", 1), new Point("A", 10));
+        expected.put(new Point("b", 2), new Point("B", 20));
+        wire.write(() -> "map").typedMap(expected);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        Map<Point, Point> actual = new HashMap<>();
+        wire.read(() -> "map").typedMap(actual);
+        assertEquals(expected, actual);
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test
+    public void skipMap() {
+        Wire wire = createWire();
+        wire.write(() -> "map").map(Collections.singletonMap("key", "value"));
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        wire.read(() -> "map").skipValue();
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test
+    public void mapLength() {
+        Wire wire = createWire();
+        wire.writeValue().map(Collections.singletonMap("key", "value"));
+        wire.flip();
+
+        // only the fixed width wire pays for a 32-bit length on a small map.
+        assertEquals(fixed ? BinaryWireCode.BYTES_LENGTH32 : BinaryWireCode.BYTES_LENGTH8, bytes.readUnsignedByte(0));
+        assertEquals(Collections.singletonMap("key", "value"), wire.getValueIn().map(String.class, String.class, new HashMap<>()));
+    }
+
+    static class Point implements Marshallable {
+        String name;
+        int x;
+
+        Point() {
+        }
+
+        Point(String name, int x) {
+            this.name = name;
+            this.x = x;
+        }
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "name").text(name)
+                    .write(() -> "x").int32(x);
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            name = wire.read(() -> "name").text();
+            x = wire.read(() -> "x").int32();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && x == ((Point) o).x && name.equals(((Point) o).name);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + x;
+        }
+    }
+
     enum BWKey implements WireKey {
         field1(1), field2(2), field3(3);
         private final int code;
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class ClassAliasesTest {
+    static {
+        ClassAliases.addAlias(Order.class, "Order", "NewOrder");
+        ClassAliases.addAlias(Cancel.class, "Cancel");
+        ClassAliases.addTypeId(Cancel.class, 1);
+    }
+
+    @Test
+    public void forName() throws ClassNotFoundException {
+        assertSame(Order.class, ClassAliases.forName("Order"));
+        assertSame(Order.class, ClassAliases.forName(new StringBuilder("NewOrder")));
+        assertSame(Order.class, ClassAliases.forName(Order.class.getName()));
+        assertSame(String.class, ClassAliases.forName(new StringBuilder("java.lang.String")));
+        assertSame(String.class, ClassAliases.forName("java.lang.String"));
+        assertEquals("Order", ClassAliases.nameFor(Order.class));
+        assertEquals("java.lang.String", ClassAliases.nameFor(String.class));
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void unknownClass() throws ClassNotFoundException {
+        ClassAliases.forName("com.example.NoSuchClass");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void aliasUsedByAnotherClass() {
+        ClassAliases.addAlias(Cancel.class, "Order");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void typeIdUsedByAnotherClass() {
+        ClassAliases.addTypeId(Order.class, 1);
+    }
+
+    @Test
+    public void manyClasses() throws ClassNotFoundException {
+        for (Class clazz : new Class[]{Integer.class, Long.class, Double.class, StringBuilder.class, Thread.class,
+                java.util.ArrayList.class, java.util.HashMap.class, java.util.TreeMap.class, java.util.UUID.class})
+            assertSame(clazz, ClassAliases.forName(new StringBuilder(clazz.getName())));
+        assertSame(Cancel.class, ClassAliases.forName("Cancel"));
+        assertEquals(1, ClassAliases.typeIdFor("Cancel"));
+        assertEquals(1, ClassAliases.typeIdFor(Cancel.class.getName()));
+        assertEquals(ClassAliases.NO_TYPE_ID, ClassAliases.typeIdFor("Order"));
+    }
+
+    @Test
+    public void textWireWritesAlias() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        wire.write(() -> "order").typedMarshallable(new Order("EURUSD", 1.1234));
+        wire.flip();
+        assertEquals("order: !Order {\n" +
+                "  symbol: EURUSD,\n" +
+                "  price: 1.1234\n" +
+                "}\n", bytes.toString());
+        Order order = (Order) wire.read(() -> "order").typedMarshallable();
+        assertEquals("EURUSD", order.symbol);
+        assertEquals(1.1234, order.price, 0.0);
+    }
+
+    @Test
+    public void binaryWireWritesTypeId() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new BinaryWire(bytes);
+        wire.write(() -> "cancel").typedMarshallable(new Cancel(12345));
+        wire.write(() -> "order").typedMarshallable(new Order("EURUSD", 1.1234));
+        wire.flip();
+
+        // the type id is written in place of the name.
+        String written = bytes.toString();
+        assertFalse(written, written.contains("Cancel"));
+        assertTrue(written, written.contains("Order"));
+
+        bytes.position(0);
+        Cancel cancel = (Cancel) wire.read(() -> "cancel").typedMarshallable();
+        assertEquals(12345, cancel.orderId);
+        Order order = (Order) wire.read(() -> "order").typedMarshallable();
+        assertEquals("EURUSD", order.symbol);
+
+        bytes.position(0);
+        wire.read(() -> "cancel").skipValue();
+        assertEquals("EURUSD", ((Order) wire.read(() -> "order").typedMarshallable()).symbol);
+    }
+
+    static class Order implements Marshallable {
+        String symbol;
+        double price;
+
+        Order(String symbol, double price) {
+            this.symbol = symbol;
+            this.price = price;
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            symbol = wire.read(() -> "symbol").text();
+            price = wire.read(() -> "price").float64();
+        }
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "symbol").text(symbol)
+                    .write(() -> "price").float64(price);
+        }
+    }
+
+    static class Cancel implements Marshallable {
+        long orderId;
+
+        Cancel(long orderId) {
+            this.orderId = orderId;
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            orderId = wire.read(() -> "orderId").int64();
+        }
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "orderId").int64(orderId);
+        }
+    }
+}
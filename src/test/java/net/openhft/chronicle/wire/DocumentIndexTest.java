@@ -0,0 +1,95 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DocumentIndexTest {
+
+    static void writeDocuments(Wire wire, long from, long to) {
+        for (long i = from; i < to; i++) {
+            long n = i;
+            if (i % 7 == 0)
+                wire.writeDocument(true, w -> w.write(() -> "meta").text("before " + n));
+            wire.writeDocument(false, w -> w.write(() -> "n").int64(n).write(() -> "text").text("document " + n));
+        }
+    }
+
+    @Test
+    public void seekToDocuments() {
+        try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(1 << 20);
+             NativeBytesStore indexStore = NativeBytesStore.nativeStoreWithFixedCapacity(DocumentIndex.sizeInBytes(64))) {
+            Wire wire = new BinaryWire(store.bytes());
+            writeDocuments(wire, 0, 1000);
+
+            Bytes indexBytes = indexStore.bytes();
+            DocumentIndex.write(indexBytes, 32, 64);
+            assertEquals(DocumentIndex.sizeInBytes(64), indexBytes.position());
+            DocumentIndex index = new DocumentIndex();
+            index.bytesStore(indexStore, 0, DocumentIndex.peakLength(indexStore, 0));
+            assertEquals(32, index.spacing());
+            assertEquals(-1, index.positionOf(store, 0));
+
+            assertEquals(1000, index.update(store, store.capacity()));
+            // more documents, indexed from where it left off.
+            writeDocuments(wire, 1000, 1500);
+            assertEquals(1500, index.update(store, store.capacity()));
+            assertEquals(1500, index.documents());
+            assertEquals(-1, index.positionOf(store, 1500));
+
+            Wire reader = new BinaryWire(store.bytes());
+            Random random = new Random(1);
+            for (int i = 0; i < 200; i++) {
+                long n = i < 2 ? i * 1499 : random.nextInt(1500);
+                long position = index.positionOf(store, n);
+                long[] read = {-1};
+                assertTrue(reader.readDocument(position, null, w -> read[0] = w.read(() -> "n").int64()));
+                assertEquals(n, read[0]);
+            }
+        }
+    }
+
+    @Test
+    public void stopsWhenFull() {
+        try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(1 << 16);
+             NativeBytesStore indexStore = NativeBytesStore.nativeStoreWithFixedCapacity(DocumentIndex.sizeInBytes(4))) {
+            writeDocuments(new BinaryWire(store.bytes()), 0, 100);
+            DocumentIndex.write(indexStore.bytes(), 10, 4);
+            DocumentIndex index = new DocumentIndex();
+            index.bytesStore(indexStore, 0, DocumentIndex.peakLength(indexStore, 0));
+            try {
+                index.update(store, store.capacity());
+                fail();
+            } catch (IllegalStateException expected) {
+                // expected
+            }
+            assertEquals(40, index.documents());
+            assertEquals(-1, index.positionOf(store, 40));
+            long[] read = {-1};
+            assertTrue(new BinaryWire(store.bytes()).readDocument(index.positionOf(store, 39), null,
+                    w -> read[0] = w.read(() -> "n").int64()));
+            assertEquals(39, read[0]);
+        }
+    }
+}
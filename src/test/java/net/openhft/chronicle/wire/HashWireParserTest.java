@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class HashWireParserTest {
+    enum Events implements WireKey {
+        hello, world, αβγ, aLongerEventNameWhichIsMoreThan32Chars;
+    }
+
+    private final Bytes bytes = nativeBytes();
+
+    private void writeEvents(Wire wire) {
+        wire.write(Events.hello).int64(1)
+                .write(Events.world).text("two")
+                .write(Events.αβγ).int64(3)
+                .write(Events.aLongerEventNameWhichIsMoreThan32Chars).int64(4)
+                .write(() -> "unknown").int64(5)
+                .write(() -> "123").int64(6);
+        wire.flip();
+    }
+
+    private List<Object> parseAll(Wire wire) {
+        List<Object> results = new ArrayList<>();
+        WireParser parser = new HashWireParser();
+        parser.register(Events.hello, v -> results.add(v.int64()));
+        parser.register(Events.world, v -> results.add(v.text()));
+        parser.register(Events.αβγ, v -> results.add(v.int64()));
+        parser.register(Events.aLongerEventNameWhichIsMoreThan32Chars, v -> results.add(v.int64()));
+        parser.register(() -> "123", v -> results.add("123=" + v.int64()));
+        parser.setDefault(v -> results.add("default=" + v.int64()));
+        while (bytes.remaining() > 0)
+            parser.parse(wire);
+        return results;
+    }
+
+    @Test
+    public void binaryFieldNames() {
+        BinaryWire wire = new BinaryWire(bytes);
+        writeEvents(wire);
+        assertEquals(Arrays.asList(1L, "two", 3L, 4L, "default=5", "123=6"), parseAll(wire));
+    }
+
+    @Test
+    public void binaryFieldNumbers() {
+        BinaryWire wire = new BinaryWire(bytes, false, true, false);
+        writeEvents(wire);
+        assertEquals(Arrays.asList(1L, "two", 3L, 4L, "default=5", "123=6"), parseAll(wire));
+    }
+
+    @Test
+    public void textFieldNames() {
+        TextWire wire = new TextWire(bytes);
+        writeEvents(wire);
+        assertEquals(Arrays.asList(1L, "two", 3L, 4L, "default=5", "123=6"), parseAll(wire));
+    }
+
+    @Test
+    public void unhandled() {
+        BinaryWire wire = new BinaryWire(bytes);
+        wire.write(() -> "unknown").int64(5);
+        wire.flip();
+        WireParser parser = new HashWireParser();
+        parser.register(Events.hello, v -> v.int64());
+        try {
+            parser.parse(wire);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertEquals("Unhandled event type unknown", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void manyEvents() {
+        WireParser parser = new HashWireParser();
+        long[] sum = {0};
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            parser.register(() -> "event" + n, v -> sum[0] += n * v.int64());
+        }
+        BinaryWire wire = new BinaryWire(bytes);
+        for (int i = 0; i < 200; i++) {
+            int n = i;
+            wire.write(() -> "event" + n).int64(2);
+        }
+        wire.flip();
+        while (bytes.remaining() > 0)
+            parser.parse(wire);
+        assertEquals(199 * 200, sum[0]);
+    }
+}
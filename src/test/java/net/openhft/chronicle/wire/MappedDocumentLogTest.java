@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+public class MappedDocumentLogTest {
+    private File dir;
+
+    @Before
+    public void setUp() {
+        dir = new File(System.getProperty("java.io.tmpdir"), "wlog-" + System.nanoTime());
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null)
+            for (File file : files)
+                file.delete();
+        dir.delete();
+    }
+
+    @Test
+    public void writeAndTailAcrossSegments() {
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 4096, 256);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            assertFalse(tailer.readDocument(null, w -> fail()));
+
+            List<Long> read = new ArrayList<>();
+            for (long i = 0; i < 1000; i++) {
+                long n = i;
+                if (i % 100 == 0)
+                    log.writeDocument(true, w -> w.write(() -> "meta").text("every 100"));
+                log.writeDocument(false, w -> w.write(() -> "n").int64(n).write(() -> "text").text("document " + n));
+                // read as it's written every other document.
+                if (i % 2 == 1)
+                    while (tailer.readDocument(null, w -> read.add(w.read(() -> "n").int64())))
+                        ;
+            }
+            assertTrue(log.findSegment(true) > 2);
+            assertEquals(1000, read.size());
+            for (int i = 0; i < read.size(); i++)
+                assertEquals(i, (long) read.get(i));
+            assertFalse(tailer.readDocument(null, w -> fail()));
+        }
+    }
+
+    @Test
+    public void reopenAppendsAfterTheLastDocument() {
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.TEXT, 4096, 512)) {
+            for (int i = 0; i < 50; i++) {
+                int n = i;
+                log.writeDocument(false, w -> w.write(() -> "n").int32(n));
+            }
+        }
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.TEXT, 4096, 512);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            log.writeDocument(false, w -> w.write(() -> "n").int32(50));
+            List<String> meta = new ArrayList<>();
+            int[] count = {0};
+            while (tailer.readDocument(w -> meta.add(w.toString()),
+                    w -> assertEquals(count[0]++, w.read(() -> "n").int32())))
+                ;
+            assertEquals(51, count[0]);
+            assertEquals(0, meta.size());
+        }
+    }
+
+    @Test
+    public void tooLargeADocumentEndsTheSegment() {
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 4096, 64);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            log.writeDocument(false, w -> w.write(() -> "n").int64(1));
+            boolean overflowed = false;
+            try {
+                log.writeDocument(false, w -> w.write(() -> "big").bytes(new byte[100]));
+            } catch (BufferOverflowException | AssertionError expected) {
+                // AssertionError when the bytes bounds checks are enabled.
+                overflowed = true;
+            }
+            assertTrue(overflowed);
+            log.writeDocument(false, w -> w.write(() -> "n").int64(2));
+            try {
+                log.writeDocument(false, w -> {
+                });
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // expected
+            }
+            log.writeDocument(false, w -> w.write(() -> "n").int64(3));
+
+            List<Long> read = new ArrayList<>();
+            while (tailer.readDocument(null, w -> read.add(w.read(() -> "n").int64())))
+                ;
+            assertEquals("[1, 2, 3]", read.toString());
+            assertEquals(1, log.findSegment(true));
+        }
+    }
+
+    @Test
+    public void twoWritersShareTheLog() throws InterruptedException {
+        int perWriter = 20_000;
+        Thread[] threads = new Thread[2];
+        for (int t = 0; t < threads.length; t++) {
+            int writer = t;
+            threads[t] = new Thread(() -> {
+                try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 64 << 10, 128)) {
+                    for (int i = 0; i < perWriter; i++) {
+                        long n = i;
+                        log.writeDocument(false, w -> w.write(() -> "writer").int32(writer).write(() -> "n").int64(n));
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        long[] next = new long[threads.length];
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 64 << 10, 128);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            int read = 0;
+            while (read < perWriter * threads.length) {
+                if (tailer.readDocument(null, w -> {
+                    int writer = w.read(() -> "writer").int32();
+                    assertEquals(next[writer]++, w.read(() -> "n").int64());
+                }))
+                    read++;
+            }
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertArrayEquals(new long[]{perWriter, perWriter}, next);
+    }
+
+    @Test
+    public void readDocumentsAcrossSegments() {
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 4096, 128);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            assertEquals(0, tailer.readDocuments(10, w -> fail()));
+            for (long i = 0; i < 1000; i++) {
+                long n = i;
+                if (i % 10 == 0)
+                    log.writeDocument(true, w -> w.write(() -> "meta").int64(n));
+                log.writeDocument(false, w -> w.write(() -> "n").int64(n));
+            }
+            assertTrue(log.findSegment(true) > 1);
+
+            long[] next = {0};
+            Consumer<WireIn> reader = w -> assertEquals(next[0]++, w.read(() -> "n").int64());
+            int batches = 0;
+            for (int count; (count = tailer.readDocuments(64, reader)) > 0; batches++)
+                assertTrue(count == 64 || next[0] == 1000);
+            assertEquals(1000, next[0]);
+            assertEquals(16, batches);
+        }
+    }
+
+    @Test
+    public void tailerWaitsForTheNextSegment() throws InterruptedException {
+        try (MappedDocumentLog log = new MappedDocumentLog(dir, WireType.BINARY, 4096, 1024);
+             MappedDocumentLog.Tailer tailer = log.createTailer()) {
+            log.writeDocument(false, w -> w.write(() -> "n").int64(0));
+            long[] next = {0};
+            Consumer<WireIn> reader = w -> assertEquals(next[0]++, w.read(() -> "n").int64());
+            assertTrue(tailer.readDocument(null, reader, WaitStrategy.BACKOFF, 1, TimeUnit.SECONDS));
+            assertFalse(tailer.readDocument(null, reader, WaitStrategy.YIELD, 10, TimeUnit.MILLISECONDS));
+
+            Thread writer = new Thread(() -> {
+                for (long i = 1; i < 1000; i++) {
+                    long n = i;
+                    log.writeDocument(false, w -> w.write(() -> "n").int64(n).write(() -> "pad").bytes(new byte[200]));
+                }
+            });
+            writer.start();
+            while (next[0] < 1000)
+                assertTrue(tailer.readDocument(null, reader, WaitStrategy.BACKOFF, 10, TimeUnit.SECONDS));
+            writer.join();
+            assertTrue(log.findSegment(true) > 10);
+        }
+    }
+}
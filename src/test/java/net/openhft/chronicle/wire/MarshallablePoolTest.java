@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class MarshallablePoolTest {
+    @Test
+    public void reusesReleased() {
+        MarshallablePool pool = new MarshallablePool(2);
+        Event a = pool.acquire(Event.class);
+        Event b = pool.acquire(Event.class);
+        Event c = pool.acquire(Event.class);
+        assertNotSame(a, b);
+        assertEquals(0, pool.available(Event.class));
+
+        pool.release(a);
+        pool.release(b);
+        // over capacity so it is dropped.
+        pool.release(c);
+        pool.release(null);
+        assertEquals(2, pool.available(Event.class));
+
+        assertSame(b, pool.acquire(Event.class));
+        assertSame(a, pool.acquire(Event.class));
+        assertNotSame(c, pool.acquire(Event.class));
+    }
+
+    @Test
+    public void eachThreadHasItsOwn() throws Exception {
+        MarshallablePool pool = new MarshallablePool();
+        Event event = pool.acquire(Event.class);
+        pool.release(event);
+        ExecutorService es = Executors.newSingleThreadExecutor();
+        try {
+            assertEquals(0, (int) es.submit(() -> pool.available(Event.class)).get());
+            assertNotSame(event, es.submit(() -> pool.acquire(Event.class)).get());
+        } finally {
+            es.shutdown();
+        }
+        assertSame(event, pool.acquire(Event.class));
+    }
+
+    @Test
+    public void noDefaultConstructor() {
+        MarshallablePool pool = new MarshallablePool();
+        NoDefault nd = pool.acquire(NoDefault.class);
+        assertEquals(0, nd.value);
+    }
+
+    @Test
+    public void typedMarshallable() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new BinaryWire(bytes);
+        for (int i = 0; i < 3; i++) {
+            Event event = new Event();
+            event.id = i;
+            event.name.append("event-").append(i);
+            if (i < 2)
+                wire.write(() -> "event").typedMarshallable(event);
+            else
+                wire.write(() -> "event").marshallable(event);
+        }
+        wire.flip();
+
+        MarshallablePool pool = new MarshallablePool();
+        Event first = (Event) wire.read(() -> "event").typedMarshallable(pool);
+        assertEquals(0, first.id);
+        assertEquals("event-0", first.name.toString());
+        pool.release(first);
+
+        Event second = (Event) wire.read(() -> "event").typedMarshallable(pool);
+        assertSame(first, second);
+        assertEquals(1, second.id);
+        assertEquals("event-1", second.name.toString());
+        pool.release(second);
+
+        Event third = wire.read(() -> "event").object(Event.class, pool);
+        assertSame(first, third);
+        assertEquals(2, third.id);
+        assertEquals("event-2", third.name.toString());
+    }
+
+    @Test
+    public void objectWhichIsNotMarshallable() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        wire.write(() -> "text").text("hello");
+        wire.flip();
+        assertEquals("hello", wire.read(() -> "text").object(String.class, new MarshallablePool()));
+    }
+
+    static class Event implements Marshallable {
+        final StringBuilder name = new StringBuilder();
+        long id;
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            wire.read(() -> "id").int64(x -> id = x)
+                    .read(() -> "name").textTo(name);
+        }
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "id").int64(id)
+                    .write(() -> "name").text(name);
+        }
+    }
+
+    static class NoDefault implements Marshallable {
+        int value;
+
+        NoDefault(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public void readMarshallable(WireIn wire) {
+            value = wire.read(() -> "value").int32();
+        }
+
+        @Override
+        public void writeMarshallable(WireOut wire) {
+            wire.write(() -> "value").int32(value);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class ObjectHandlersTest {
+    @Test
+    public void writeAndReadObjects() {
+        for (boolean binary : new boolean[]{false, true}) {
+            Bytes bytes = nativeBytes();
+            Wire wire = binary ? new BinaryWire(bytes) : new TextWire(bytes);
+            UUID uuid = new UUID(1, 2);
+            LocalDate date = LocalDate.of(2015, 6, 1);
+            wire.write(() -> "long").object(123L)
+                    .write(() -> "double").object(1.5)
+                    .write(() -> "flag").object(true)
+                    .write(() -> "text").object("hello")
+                    .write(() -> "uuid").object(uuid)
+                    .write(() -> "date").object(date)
+                    .write(() -> "unit").object(TimeUnit.MINUTES);
+            wire.flip();
+
+            assertEquals(123L, (long) wire.read(() -> "long").object(Long.class));
+            assertEquals(1.5, wire.read(() -> "double").object(Double.class), 0.0);
+            assertTrue(wire.read(() -> "flag").object(Boolean.class));
+            assertEquals("hello", wire.read(() -> "text").object(String.class));
+            assertEquals(uuid, wire.read(() -> "uuid").object(UUID.class));
+            assertEquals(date, wire.read(() -> "date").object(LocalDate.class));
+            assertEquals(TimeUnit.MINUTES, wire.read(() -> "unit").object(TimeUnit.class));
+        }
+    }
+
+    @Test
+    public void lookup() {
+        assertNotNull(ObjectHandlers.writerFor(StringBuilder.class));
+        assertSame(ObjectHandlers.writerFor(String.class), ObjectHandlers.writerFor(StringBuilder.class));
+        assertNotSame(ObjectHandlers.readerFor(String.class), ObjectHandlers.readerFor(StringBuilder.class));
+        assertNull(ObjectHandlers.writerFor(Object.class));
+        assertNull(ObjectHandlers.readerFor(Object.class));
+    }
+
+    @Test
+    public void addHandlers() {
+        assertNull(ObjectHandlers.writerFor(Point.class));
+        ObjectHandlers.addWriter(Point.class, (out, p) -> out.text(p.x + "," + p.y));
+        ObjectHandlers.addReader(Point.class, (in, using, clazz) -> {
+            String[] xy = in.text().split(",");
+            Point p = using == null ? new Point() : using;
+            p.x = Integer.parseInt(xy[0]);
+            p.y = Integer.parseInt(xy[1]);
+            return p;
+        });
+
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        Point point = new Point();
+        point.x = 3;
+        point.y = 4;
+        wire.write(() -> "point").object(point);
+        wire.flip();
+        assertEquals("point: \"3,4\"\n", bytes.toString());
+
+        Point using = new Point();
+        assertSame(using, wire.read(() -> "point").object(using, Point.class));
+        assertEquals(3, using.x);
+        assertEquals(4, using.y);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unsupported() {
+        new TextWire(nativeBytes()).write(() -> "object").object(new Object());
+    }
+
+    static class Point {
+        int x, y;
+    }
+}
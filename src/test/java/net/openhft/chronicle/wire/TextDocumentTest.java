@@ -100,8 +100,8 @@ public class TextDocumentTest {
         assertEquals("--- !!meta-data\n" +
                 "header: {\n" +
                 "  uuid: "+wheader.uuid+",\n" +
-                "  writeByte: !!atomic { locked: false, value: 00000000000000000512 },\n" +
-                "  readByte: !!atomic { locked: false, value: 00000000000000001024 },\n" +
+                "  writeByte: !!seqlock { version: 00000000, value: 00000000000000000512 },\n" +
+                "  readByte: !!seqlock { version: 00000000, value: 00000000000000001024 },\n" +
                 "  created: " + wheader.created+"\n" +
                 "}\n", Wires.fromSizePrefixedBlobs(wire.bytes()));
         wire.readDocument(w -> w.read(() -> "header").marshallable(rheader), null);
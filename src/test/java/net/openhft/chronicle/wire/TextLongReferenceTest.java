@@ -17,10 +17,20 @@
  */
 package net.openhft.chronicle.wire;
 
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.NativeBytes;
 import net.openhft.chronicle.bytes.NativeBytesStore;
+import net.openhft.chronicle.core.values.LongValue;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 public class TextLongReferenceTest {
 
     @Test
@@ -39,4 +49,82 @@ public class TextLongReferenceTest {
             Assert.assertEquals(expected, value.getValue());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testNegativeValues() {
+        final TextLongReference value = new TextLongReference();
+        try (NativeBytesStore bytesStore = NativeBytesStore.nativeStoreWithFixedCapacity(value.maxSize())) {
+            value.bytesStore(bytesStore, 0, value.maxSize());
+            for (long l : new long[]{-1, -123456789012345678L, Long.MAX_VALUE, -Long.MAX_VALUE, 0}) {
+                value.setValue(l);
+                Assert.assertEquals(l, value.getValue());
+                Assert.assertEquals(l, bytesStore.parseLong(TextLongReference.VALUE));
+            }
+            Assert.assertTrue(value.compareAndSwapValue(0, 7));
+            Assert.assertFalse(value.compareAndSwapValue(0, 8));
+            Assert.assertEquals(6, value.addValue(-1));
+        }
+    }
+
+    @Test
+    public void testReadersSeeWholeValues() throws Exception {
+        final int writers = 2, readers = 2, adds = 200_000;
+        // steps of 111111111111 change every digit, so a torn read is unlikely to land on a multiple of it.
+        final long step = 111_111_111_111L;
+        try (NativeBytesStore bytesStore = NativeBytesStore.nativeStoreWithFixedCapacity(TextLongReference.template.length)) {
+            ExecutorService es = Executors.newFixedThreadPool(writers + readers);
+            AtomicBoolean running = new AtomicBoolean(true);
+            Future[] futures = new Future[writers + readers];
+            for (int i = 0; i < writers; i++)
+                futures[i] = es.submit(() -> {
+                    TextLongReference value = new TextLongReference();
+                    value.bytesStore(bytesStore, 0, value.maxSize());
+                    for (int j = 0; j < adds; j++)
+                        value.addValue(step);
+                    return null;
+                });
+            for (int i = writers; i < futures.length; i++)
+                futures[i] = es.submit(() -> {
+                    TextLongReference value = new TextLongReference();
+                    value.bytesStore(bytesStore, 0, value.maxSize());
+                    long last = 0;
+                    while (running.get()) {
+                        long l = value.getValue();
+                        Assert.assertEquals(0, l % step);
+                        Assert.assertTrue(l >= last);
+                        last = l;
+                    }
+                    return null;
+                });
+            for (int i = 0; i < writers; i++)
+                futures[i].get();
+            running.set(false);
+            for (int i = writers; i < futures.length; i++)
+                futures[i].get();
+            es.shutdown();
+            es.awaitTermination(1, TimeUnit.SECONDS);
+
+            TextLongReference value = new TextLongReference();
+            value.bytesStore(bytesStore, 0, value.maxSize());
+            Assert.assertEquals(step * writers * adds, value.getValue());
+        }
+    }
+
+    @Test
+    public void testLockedLayout() {
+        Bytes bytes = NativeBytes.nativeBytes();
+        bytes.append("count: !!atomic { locked: false, value: 00000000000000000512 }\n");
+        bytes.flip();
+        AtomicReference<LongValue> count = new AtomicReference<>();
+        new TextWire(bytes).read(() -> "count").int64(null, count::set);
+
+        LongValue value = count.get();
+        Assert.assertEquals(512, value.getValue());
+        Assert.assertEquals(513, value.addValue(1));
+        Assert.assertTrue(value.compareAndSwapValue(513, -2));
+        Assert.assertEquals(-2, value.getValue());
+        bytes.position(0);
+        Assert.assertEquals("count: !!atomic { locked: false, value: -0000000000000000002 }\n",
+                bytes.toString());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class TextScannerTest {
+    // white space, stop chars, quote chars and a few ordinary and high bytes.
+    static final byte[] CHARS = "\t\n\u000b\f\r\u001c\u001f \u0000\u0008\u000e\u001b!\"#,:{}[]\\azAZ09-.".getBytes();
+
+    static Bytes<?> randomBytes(Random rand, int length) {
+        Bytes<?> bytes = nativeBytes();
+        for (int i = 0; i < length; i++) {
+            int r = rand.nextInt(CHARS.length + 3);
+            bytes.writeUnsignedByte(r < CHARS.length ? CHARS[r] : r == CHARS.length ? 0x80 : 0xA0 + rand.nextInt(0x60));
+        }
+        return bytes;
+    }
+
+    @Test
+    public void skipWhiteSpaceAsCharacterIsWhitespace() {
+        Random rand = new Random(1);
+        for (int t = 0; t < 20000; t++) {
+            Bytes<?> bytes = nativeBytes();
+            int spaces = rand.nextInt(20);
+            for (int i = 0; i < spaces; i++)
+                bytes.writeUnsignedByte(CHARS[rand.nextInt(8)]);
+            bytes.write(randomBytes(rand, rand.nextInt(12)));
+            long limit = bytes.position();
+            bytes.position(0);
+            bytes.limit(limit);
+            for (int start = 0; start <= limit; start++) {
+                long expected = start;
+                while (expected < limit && Character.isWhitespace(bytes.readUnsignedByte(expected)))
+                    expected++;
+                assertEquals(expected, TextScanner.skipWhiteSpace(bytes, start, limit));
+            }
+        }
+    }
+
+    @Test
+    public void indexOfStop() {
+        Random rand = new Random(2);
+        for (int t = 0; t < 20000; t++) {
+            Bytes<?> bytes = randomBytes(rand, rand.nextInt(40));
+            long limit = bytes.position();
+            bytes.position(0);
+            bytes.limit(limit);
+            boolean nested = rand.nextBoolean();
+            boolean escaping = rand.nextBoolean();
+            for (int start = 0; start <= limit; start++) {
+                long expected = start;
+                for (; expected < limit; expected++) {
+                    int ch = bytes.readUnsignedByte(expected);
+                    if ("\"#\n:,".indexOf(ch) >= 0 || ch >= 0x80 || nested && ch == '}' || escaping && ch == '\\')
+                        break;
+                }
+                assertEquals(expected, TextScanner.indexOfStop(bytes, start, limit, nested, escaping));
+            }
+        }
+    }
+
+    @Test
+    public void needsQuotes() {
+        String quoteChars = "\",\n\\#:{}[]";
+        for (char ch = 0; ch < 300; ch++)
+            assertEquals("char " + (int) ch, quoteChars.indexOf(ch) >= 0, TextScanner.isQuoteChar(ch));
+
+        assertTrue(TextScanner.needsQuotes(""));
+        assertFalse(TextScanner.needsQuotes("EURUSD.SPOT"));
+        assertTrue(TextScanner.needsQuotes("a: b"));
+
+        Random rand = new Random(3);
+        for (int t = 0; t < 5000; t++) {
+            Bytes<?> bytes = randomBytes(rand, rand.nextInt(40));
+            bytes.limit(bytes.position());
+            bytes.position(0);
+            boolean expected = bytes.length() == 0;
+            for (int i = 0; i < bytes.length(); i++)
+                expected |= quoteChars.indexOf(bytes.charAt(i)) >= 0;
+            assertEquals(expected, TextScanner.needsQuotes(bytes));
+            assertEquals(expected, TextScanner.needsQuotes(bytes.toString()));
+        }
+    }
+
+    @Test
+    public void readsTextAsBefore() {
+        Bytes<?> bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        String[] texts = {"", "hello", "a:b", "a,b, c", "key: value", "a very long text, with a comma",
+                "abéc", "back\\slash", "{}", "[1, 2]", "hash # tag", "line\nbreak",
+                "ends with colon:", "x,", "  padded  "};
+        for (String text : texts) {
+            bytes.clear();
+            wire.write(() -> "field").text(text)
+                    .write(() -> "nested").marshallable(w -> w
+                    .write(() -> "inner").text(text)
+                    .write(() -> "after").text(text))
+                    .write(() -> "last").text(text);
+            wire.flip();
+            String expected = text.trim();
+            assertEquals(bytes.toString(), expected, wire.read(() -> "field").text());
+            wire.read(() -> "nested").marshallable(w -> {
+                assertEquals(expected, w.read(() -> "inner").text());
+                assertEquals(expected, w.read(() -> "after").text());
+            });
+            assertEquals(expected, wire.read(() -> "last").text());
+        }
+    }
+
+    @Test
+    public void readsFieldNames() {
+        Bytes<?> bytes = nativeBytes();
+        bytes.append("simple: 1\n" +
+                "\t  with.dots-and_underscores:   2\n" +
+                "\"quoted: name\": 3\n" +
+                "na:me: 4\n" +
+                "café: 5\n" +
+                "last: 6");
+        Wire wire = new TextWire(bytes);
+        wire.flip();
+        StringBuilder sb = new StringBuilder();
+        String[] names = {"simple", "with.dots-and_underscores", "quoted: name", "na:me", "café"};
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i + 1, wire.read(sb).int64());
+            assertEquals(names[i], sb.toString());
+        }
+        assertEquals(6, wire.read(sb).int64());
+        assertEquals("last", sb.toString());
+    }
+}
@@ -28,6 +28,7 @@ import org.yaml.snakeyaml.Yaml;
 import java.io.StringReader;
 import java.security.InvalidAlgorithmParameterException;
 import java.time.*;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -185,9 +186,9 @@ public class TextWireTest {
         // ok as blank matches anything
         wire.read(BWKey.field1);
         wire.read(BWKey.field1);
-        // not a match
+        // not a match, and field2 isn't anywhere in the document, whereas field1 could be read again.
         try {
-            wire.read(BWKey.field1);
+            wire.read(BWKey.field2);
             fail();
         } catch (UnsupportedOperationException expected) {
             StringBuilder name = new StringBuilder();
@@ -424,6 +425,38 @@ public class TextWireTest {
         wire.read();
     }
 
+    @Test
+    public void numbersRoundTrip() {
+        Wire wire = createWire();
+        long[] longs = {0, -1, 12345678, 123456789, Long.MAX_VALUE, Long.MIN_VALUE};
+        double[] doubles = {0.1, -101.25, 0.1 + 0.2, 1e-10, 1e300, Double.MIN_VALUE, Double.NaN, Double.NEGATIVE_INFINITY};
+        for (long l : longs)
+            wire.write(() -> "l").int64(l);
+        for (double d : doubles)
+            wire.write(() -> "d").float64(d);
+        wire.flip();
+        assertEquals("l: 0\n" +
+                "l: -1\n" +
+                "l: 12345678\n" +
+                "l: 123456789\n" +
+                "l: 9223372036854775807\n" +
+                "l: -9223372036854775808\n" +
+                "d: 0.1\n" +
+                "d: -101.25\n" +
+                "d: 0.30000000000000004\n" +
+                "d: 0.0000000001\n" +
+                "d: 1.0E300\n" +
+                "d: 4.9E-324\n" +
+                "d: NaN\n" +
+                "d: -Infinity\n", wire.toString());
+
+        for (long l : longs)
+            assertEquals(l, wire.read(() -> "l").int64());
+        for (double d : doubles)
+            assertEquals(d, wire.read(() -> "d").float64(), 0.0);
+        assertEquals(0, bytes.remaining());
+    }
+
     @Test
     public void text() {
         Wire wire = createWire();
@@ -633,6 +666,227 @@ public class TextWireTest {
         assertEquals(mt2, mtB);
     }
 
+    @Test
+    public void readUnorderedFields() {
+        Wire wire = createWire();
+        wire.write(() -> "A").marshallable(w -> w
+                .write(() -> "text").text("Hello, World")
+                .write(() -> "inner").marshallable(i -> i.write(() -> "x").int64(1).write(() -> "y").int64(2))
+                .write(() -> "list").sequence(v -> {
+                    v.text("a");
+                    v.text("b");
+                })
+                .write(() -> "number").int64(123));
+        wire.write(() -> "B").int32(2);
+        wire.flip();
+
+        wire.read(() -> "A").marshallable(r -> {
+            assertEquals(123, r.read(() -> "number").int64());
+            r.read(() -> "inner").marshallable(i -> {
+                assertEquals(2, i.read(() -> "y").int64());
+                assertEquals(1, i.read(() -> "x").int64());
+            });
+            assertEquals("Hello, World", r.read(() -> "text").text());
+            try {
+                r.read(() -> "missing");
+                fail();
+            } catch (UnsupportedOperationException expected) {
+            }
+        });
+        assertEquals(2, wire.read(() -> "B").int32());
+    }
+
+    @Test
+    public void readEarlierFieldAgain() {
+        Wire wire = createWire();
+        wire.write(() -> "a").int64(1)
+                .write(() -> "b").int64(2)
+                .write(() -> "c").int64(3);
+        wire.write(() -> "m").marshallable(w -> w
+                .write(() -> "a").int64(11)
+                .write(() -> "b").int64(12)
+                .write(() -> "c").int64(13));
+        wire.flip();
+
+        // a is read in order before the first field out of order.
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(3, wire.read(() -> "c").int64());
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(2, wire.read(() -> "b").int64());
+        wire.read(() -> "m").marshallable(m -> {
+            assertEquals(11, m.read(() -> "a").int64());
+            assertEquals(13, m.read(() -> "c").int64());
+            assertEquals(11, m.read(() -> "a").int64());
+            assertEquals(12, m.read(() -> "b").int64());
+            assertEquals(12, m.read(() -> "b").int64());
+        });
+    }
+
+    @Test
+    public void readNextDocumentWithoutField() {
+        Wire wire = createWire();
+        wire.write(() -> "a").int64(1)
+                .write(() -> "x").int64(10)
+                .write(() -> "b").int64(100);
+        wire.write(() -> "a").int64(2)
+                .write(() -> "b").int64(200);
+        wire.flip();
+
+        assertEquals(1, wire.read(() -> "a").int64());
+        assertEquals(100, wire.read(() -> "b").int64());
+        assertEquals(10, wire.read(() -> "x").int64());
+        assertEquals(100, wire.read(() -> "b").int64());
+        // the second document starts with a field already read, and has no x.
+        assertEquals(2, wire.read(() -> "a").int64());
+        assertEquals(200, wire.read(() -> "b").int64());
+        assertEquals(0, wire.read(() -> "x").int64());
+    }
+
+    @Test
+    public void skipValue() {
+        Wire wire = createWire();
+        wire.write(() -> "a").text("Hello, World");
+        wire.write(() -> "b").text("with \"quotes\" and [brackets]");
+        wire.write(() -> "c").int64(-123);
+        wire.write(() -> "d").type("type");
+        wire.writeValue().marshallable(w -> w.write(() -> "x").text("{}"));
+        wire.write(() -> "e").sequence(v -> {
+            v.text("a, b");
+            v.text("]");
+        });
+        wire.write(() -> "f").zonedDateTime(ZonedDateTime.now());
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 6; i++)
+            wire.read(name).skipValue();
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test
+    public void readUnorderedDocuments() {
+        Wire wire = createWire();
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            wire.writeDocument(false, w -> w.write(() -> "a").int64(n)
+                    .write(() -> "b").text("b" + n)
+                    .write(() -> "c").int64(n * 10));
+        }
+        wire.flip();
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            assertTrue(wire.readDocument(null, r -> {
+                assertEquals(n * 10, r.read(() -> "c").int64());
+                assertEquals("b" + n, r.read(() -> "b").text());
+                assertEquals(n, r.read(() -> "a").int64());
+            }));
+        }
+    }
+
+    @Test
+    public void readNestedWithoutSpaces() {
+        Wire wire = createWire();
+        bytes.append("a: {x: 1, y: {z: hi}, skipped: [1, {2}], s: \"}\", n: {}}\nb: 2\n");
+        wire.flip();
+        wire.read(() -> "a").marshallable(r -> {
+            assertEquals(1, r.read(() -> "x").int64());
+            r.read(() -> "y").marshallable(y -> assertEquals("hi", y.read(() -> "z").text()));
+            assertEquals("}", r.read(() -> "s").text());
+            r.read(() -> "n").marshallable(n -> assertEquals(0, n.read(() -> "missing").int64()));
+            assertEquals("", r.read(() -> "missing").text());
+        });
+        assertEquals(2, wire.read(() -> "b").int64());
+    }
+
+    @Test
+    public void readDeeplyNested() {
+        Wire wire = createWire();
+        writeNested(wire.write(() -> "a"), 200);
+        wire.write(() -> "b").int64(2);
+        wire.flip();
+        assertEquals(200, readNested(wire.read(() -> "a")));
+        assertEquals(2, wire.read(() -> "b").int64());
+    }
+
+    private static void writeNested(ValueOut out, int depth) {
+        out.marshallable(w -> {
+            w.write(() -> "depth").int32(depth);
+            if (depth > 1)
+                writeNested(w.write(() -> "next"), depth - 1);
+            w.write(() -> "end").text("}");
+        });
+    }
+
+    private static int readNested(ValueIn in) {
+        int[] depth = {0};
+        in.marshallable(r -> {
+            depth[0] = r.read(() -> "depth").int32();
+            // only the first level reads the nested fields, the rest are skipped.
+            if (depth[0] == 200)
+                assertEquals(199, readNested(r.read(() -> "next")));
+        });
+        return depth[0];
+    }
+
+    @Test
+    public void arrays() {
+        Wire wire = createWire();
+        wire.write(() -> "sizes").array(new int[]{0, 100, -2000, 65536}, 1, 3);
+        wire.write(() -> "ids").array(new long[]{1, 1L << 40}, 0, 2);
+        wire.write(() -> "empty").array(new long[0], 0, 0);
+        wire.write(() -> "prices").array(new double[]{1.25, 99.5, -0.125}, 0, 3);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+        assertEquals("sizes: [ 100, -2000, 65536 ]\n" +
+                "ids: [ 1, 1099511627776 ]\n" +
+                "empty: []\n" +
+                "prices: [ 1.25, 99.5, -0.125 ]\n" +
+                "z: 12345\n", wire.toString());
+
+        int[] sizes = new int[4];
+        assertEquals(3, wire.read(() -> "sizes").array(sizes));
+        assertEquals("[100, -2000, 65536, 0]", Arrays.toString(sizes));
+        long[] ids = new long[1];
+        assertEquals(2, wire.read(() -> "ids").array(ids));
+        assertEquals(1, ids[0]);
+        assertEquals(0, wire.read(() -> "empty").array(ids));
+        double[] prices = new double[3];
+        assertEquals(3, wire.read(() -> "prices").array(prices));
+        assertEquals("[1.25, 99.5, -0.125]", Arrays.toString(prices));
+        assertEquals(12345, wire.read(() -> "z").int64());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void intArrayOutOfRange() {
+        Wire wire = createWire();
+        wire.write(() -> "ids").array(new long[]{1, 1L << 40}, 0, 2);
+        wire.flip();
+        wire.read(() -> "ids").array(new int[2]);
+    }
+
+    @Test
+    public void fixed() {
+        Wire wire = createWire();
+        wire.write(() -> "price").fixed(10125, 2);
+        wire.write(() -> "neg").fixed(-5, 3);
+        wire.write(() -> "qty").fixed(3, -6);
+        wire.write(() -> "min").fixed(Long.MIN_VALUE, 4);
+        wire.write(() -> "z").int64(12345);
+        wire.flip();
+        assertEquals("price: 101.25\n" +
+                "neg: -0.005\n" +
+                "qty: 3000000\n" +
+                "min: -922337203685477.5808\n" +
+                "z: 12345\n", wire.toString());
+
+        assertEquals(1012500, wire.read(() -> "price").fixed(4));
+        assertEquals(-5, wire.read(() -> "neg").fixed(3));
+        assertEquals(3, wire.read(() -> "qty").fixed(-6));
+        assertEquals(Long.MIN_VALUE, wire.read(() -> "min").fixed(4));
+        assertEquals(12345, wire.read(() -> "z").fixed(0));
+    }
+
     @Test
     public void testWriteMarshallableAndFieldLength() {
         Wire wire = createWire();
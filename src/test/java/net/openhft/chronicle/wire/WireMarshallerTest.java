@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class WireMarshallerTest {
+    private static Order newOrder() {
+        Order order = new Order();
+        order.id = 1234567890123L;
+        order.symbol = "EURUSD";
+        order.price = 1.2345;
+        order.quantity = 1_000_000;
+        order.side = 'B';
+        order.active = true;
+        order.flags = 3;
+        order.priority = 12;
+        order.ratio = 0.5f;
+        order.unit = TimeUnit.SECONDS;
+        order.comment.append("first");
+        order.notWritten = 99;
+        order.party = new Party();
+        order.party.name = "bank";
+        order.party.account = 42;
+        return order;
+    }
+
+    private static void assertOrder(Order order) {
+        assertEquals(1234567890123L, order.id);
+        assertEquals("EURUSD", order.symbol);
+        assertEquals(1.2345, order.price, 0.0);
+        assertEquals(1_000_000, order.quantity);
+        assertEquals('B', order.side);
+        assertTrue(order.active);
+        assertEquals(3, order.flags);
+        assertEquals(12, order.priority);
+        assertEquals(0.5f, order.ratio, 0.0f);
+        assertEquals(TimeUnit.SECONDS, order.unit);
+        assertEquals("first", order.comment.toString());
+        assertEquals(0, order.notWritten);
+        assertEquals("bank", order.party.name);
+        assertEquals(42, order.party.account);
+    }
+
+    @Test
+    public void text() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        wire.write(() -> "order").marshallable(newOrder());
+        wire.flip();
+        assertEquals("order: {\n" +
+                "  id: 1234567890123,\n" +
+                "  symbol: EURUSD,\n" +
+                "  comment: first,\n" +
+                "  price: 1.2345,\n" +
+                "  quantity: 1000000,\n" +
+                "  side: B,\n" +
+                "  active: true,\n" +
+                "  flags: 3,\n" +
+                "  priority: 12,\n" +
+                "  ratio: 0.5,\n" +
+                "  unit: SECONDS,\n" +
+                "  party: {\n" +
+                "    name: bank,\n" +
+                "    account: 42\n" +
+                "}\n" +
+                "}\n", bytes.toString());
+
+        Order order = new Order();
+        wire.read(() -> "order").marshallable(order);
+        assertOrder(order);
+    }
+
+    @Test
+    public void binary() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new BinaryWire(bytes);
+        wire.write(() -> "order").marshallable(newOrder());
+        wire.flip();
+
+        Order order = new Order();
+        StringBuilder comment = order.comment;
+        wire.read(() -> "order").marshallable(order);
+        assertOrder(order);
+        // the existing StringBuilder is reused.
+        assertSame(comment, order.comment);
+    }
+
+    @Test
+    public void nullValues() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new BinaryWire(bytes);
+        Order written = new Order();
+        wire.write(() -> "order").marshallable(written);
+        wire.flip();
+
+        Order order = newOrder();
+        wire.read(() -> "order").marshallable(order);
+        assertNull(order.symbol);
+        assertNull(order.unit);
+        assertNull(order.party);
+        assertEquals(0, order.id);
+    }
+
+    @Test
+    public void innerClass() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        Inner inner = new Inner();
+        inner.value = 7;
+        wire.write(() -> "inner").marshallable(inner);
+        wire.flip();
+        // the reference to the outer instance is not written.
+        assertEquals("inner: {\n" +
+                "  value: 7\n" +
+                "}\n", bytes.toString());
+
+        Inner read = new Inner();
+        wire.read(() -> "inner").marshallable(read);
+        assertEquals(7, read.value);
+    }
+
+    @Test
+    public void handWrittenMethodsAreKept() {
+        Bytes bytes = nativeBytes();
+        Wire wire = new TextWire(bytes);
+        wire.write(() -> "event").marshallable(new MarshallablePoolTest.Event());
+        wire.flip();
+        assertEquals("event: {\n" +
+                "  id: 0,\n" +
+                "  name: \"\"\n" +
+                "}\n", bytes.toString());
+    }
+
+    class Inner implements Marshallable {
+        int value;
+    }
+
+    static class Base implements Marshallable {
+        long id;
+        String symbol;
+    }
+
+    static class Order extends Base {
+        static int notAField = 1;
+        final StringBuilder comment = new StringBuilder();
+        double price;
+        int quantity;
+        char side;
+        boolean active;
+        byte flags;
+        short priority;
+        float ratio;
+        TimeUnit unit;
+        transient int notWritten;
+        Party party;
+    }
+
+    static class Party implements Marshallable {
+        String name;
+        long account;
+    }
+}
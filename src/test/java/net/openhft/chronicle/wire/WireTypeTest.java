@@ -0,0 +1,62 @@
+/*
+ * Copyright 2015 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.BytesMarshaller;
+import org.junit.Test;
+
+import static net.openhft.chronicle.bytes.NativeBytes.nativeBytes;
+import static org.junit.Assert.*;
+
+public class WireTypeTest {
+    @Test
+    public void acquireWireIsReused() {
+        for (WireType wireType : WireType.values()) {
+            Bytes bytes1 = nativeBytes();
+            Bytes bytes2 = nativeBytes();
+            Wire wire1 = wireType.acquireWire(bytes1);
+            assertSame(bytes1, wire1.bytes());
+            Wire wire2 = wireType.acquireWire(bytes2);
+            assertSame(wireType.toString(), wire1, wire2);
+            assertSame(bytes2, wire2.bytes());
+            assertNotSame(wire1, wireType.apply(bytes1));
+        }
+    }
+
+    @Test
+    public void roundTripWithReusedWire() {
+        for (WireType wireType : WireType.values()) {
+            BytesMarshaller<MyTypes> marshaller = MarshallableBytesMarshaller.of(wireType, MyTypes::new);
+            MyTypes a = new MyTypes();
+            a.text.append("Hello World");
+            a.b = true;
+            a.s = 123;
+            a.d = 1.5;
+            a.l = 1234567890L;
+            a.i = 12345;
+            for (int i = 0; i < 3; i++) {
+                a.i = i;
+                Bytes bytes = nativeBytes();
+                marshaller.write(bytes, a);
+                bytes.flip();
+                assertEquals(wireType.toString(), a, marshaller.read(bytes, null));
+            }
+        }
+    }
+}
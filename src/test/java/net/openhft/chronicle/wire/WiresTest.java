@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014 Higher Frequency Trading
+ *
+ * http://www.higherfrequencytrading.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.openhft.chronicle.wire;
+
+import net.openhft.chronicle.bytes.Bytes;
+import net.openhft.chronicle.bytes.NativeBytesStore;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+public class WiresTest {
+
+    @Test
+    public void readDataStopsAtMetaDataBeingWritten() {
+        try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(256)) {
+            Wire wire = new BinaryWire(store.bytes());
+            wire.writeDocument(false, w -> w.write(() -> "a").int32(1));
+            long claimed = wire.bytes().position();
+            wire.bytes().writeInt(Wires.META_DATA | Wires.NOT_READY | Wires.UNKNOWN_LENGTH);
+
+            Wire reader = new BinaryWire(store.bytes());
+            List<String> read = new ArrayList<>();
+            assertTrue(reader.readDocument(w -> read.add("meta"), w -> read.add("data")));
+            assertFalse(reader.readDocument(w -> read.add("meta"), w -> read.add("data")));
+            assertEquals(claimed, reader.bytes().position());
+            assertEquals("[data]", read.toString());
+        }
+    }
+
+    @Test
+    public void writeDataConcurrentlySkipsOtherDocuments() {
+        try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(64)) {
+            Wire wire1 = new BinaryWire(store.bytes());
+            Wire wire2 = new BinaryWire(store.bytes());
+            assertEquals(0, Wires.writeDataConcurrently(wire1, false, w -> w.write(() -> "a").int32(1)));
+            long second = Wires.writeDataConcurrently(wire2, true, w -> w.write(() -> "b").int32(2));
+            assertEquals(wire1.bytes().position(), second);
+            assertEquals(wire2.bytes().position(), Wires.writeDataConcurrently(wire1, false, w -> w.write(() -> "c").int32(3)));
+
+            try {
+                Wires.writeDataConcurrently(wire2, false, w -> {
+                });
+                fail();
+            } catch (IllegalArgumentException expected) {
+                // an empty document.
+            }
+            wire2.bytes().limit(wire1.bytes().position() + 3);
+            try {
+                Wires.writeDataConcurrently(wire2, false, w -> w.write(() -> "d").int32(4));
+                fail();
+            } catch (BufferOverflowException expected) {
+                // no room for the header.
+            }
+        }
+    }
+
+    @Test
+    public void multipleProducers() throws InterruptedException {
+        int producers = 4, count = 50_000;
+        try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(producers * count * 32L)) {
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            Thread[] threads = new Thread[producers];
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                threads[p] = new Thread(() -> {
+                    try {
+                        Wire wire = new BinaryWire(store.bytes());
+                        for (int i = 0; i < count; i++) {
+                            long n = i;
+                            Wires.writeDataConcurrently(wire, (i & 15) == 0,
+                                    w -> w.write(() -> "p").int32(producer).write(() -> "n").int64(n));
+                        }
+                    } catch (Throwable t) {
+                        error.set(t);
+                    }
+                });
+                threads[p].start();
+            }
+
+            // tail the documents as they are written.
+            Wire reader = new BinaryWire(store.bytes());
+            long[] next = new long[producers];
+            // the first of every 16 is meta-data.
+            Arrays.fill(next, 1);
+            int[] read = {0};
+            while (read[0] < producers * count && error.get() == null) {
+                reader.readDocument(w -> {
+                    w.read(() -> "p").int32();
+                    w.read(() -> "n").int64();
+                    read[0]++;
+                }, w -> {
+                    int producer = w.read(() -> "p").int32();
+                    long n = w.read(() -> "n").int64();
+                    assertEquals(next[producer], n);
+                    next[producer] = n + 1;
+                    if ((next[producer] & 15) == 0 && next[producer] < count)
+                        next[producer]++;
+                    read[0]++;
+                });
+            }
+            for (Thread thread : threads)
+                thread.join();
+            assertNull(error.get());
+            for (long n : next)
+                assertEquals(count, n);
+            Bytes bytes = reader.bytes();
+            assertEquals(0, bytes.readInt(bytes.position()));
+        }
+    }
+
+    @Test
+    public void readDocumentsInBatches() {
+        Wire wire = new BinaryWire(Bytes.elasticByteBuffer());
+        for (int i = 0; i < 10; i++) {
+            int n = i;
+            if (i % 3 == 0)
+                wire.writeDocument(true, w -> w.write(() -> "meta").int32(n));
+            wire.writeDocument(false, w -> w.write(() -> "n").int32(n));
+        }
+        long end = wire.bytes().position();
+        // a document still being written.
+        wire.bytes().writeInt(Wires.NOT_READY | Wires.UNKNOWN_LENGTH);
+        wire.bytes().writeInt(12345);
+        wire.flip();
+
+        List<Integer> read = new ArrayList<>();
+        assertEquals(4, wire.readDocuments(4, w -> read.add(w.read(() -> "n").int32())));
+        assertEquals("[0, 1, 2, 3]", read.toString());
+
+        List<Integer> meta = new ArrayList<>();
+        assertEquals(6, Wires.readDocuments(wire, 100, w -> meta.add(w.read(() -> "meta").int32()),
+                w -> read.add(w.read(() -> "n").int32())));
+        assertEquals("[0, 1, 2, 3, 4, 5, 6, 7, 8, 9]", read.toString());
+        assertEquals("[6, 9]", meta.toString());
+        assertEquals(end, wire.bytes().position());
+        assertEquals(end + 8, wire.bytes().limit());
+
+        assertEquals(0, wire.readDocuments(100, w -> fail()));
+        assertEquals(end, wire.bytes().position());
+    }
+
+    @Test
+    public void waitForTheNextDocument() throws InterruptedException {
+        for (WaitStrategy waitStrategy : new WaitStrategy[]{
+                WaitStrategy.BUSY_SPIN, WaitStrategy.YIELD, WaitStrategy.BACKOFF, WaitStrategy.backoff(0, 0, 100_000)}) {
+            try (NativeBytesStore store = NativeBytesStore.nativeStoreWithFixedCapacity(256)) {
+                Wire reader = new BinaryWire(store.bytes());
+                long start = System.nanoTime();
+                assertFalse(reader.readDocument(null, w -> fail(), waitStrategy, 20, TimeUnit.MILLISECONDS));
+                assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+
+                Thread writer = new Thread(() -> {
+                    Wire wire = new BinaryWire(store.bytes());
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+                    wire.writeDocument(true, w -> w.write(() -> "meta").int32(1));
+                    wire.writeDocument(false, w -> w.write(() -> "n").int32(2));
+                });
+                writer.start();
+                List<Integer> read = new ArrayList<>();
+                assertTrue(reader.readDocument(w -> read.add(w.read(() -> "meta").int32()),
+                        w -> read.add(w.read(() -> "n").int32()), waitStrategy, 10, TimeUnit.SECONDS));
+                assertEquals("[1, 2]", read.toString());
+                writer.join();
+            }
+        }
+    }
+}